@@ -0,0 +1,88 @@
+// Compares the MVC and the reactive (WebFlux) read stacks.
+//
+//   k6 run -e STACK=mvc      -e VUS=2000 -e TOKEN=<jwt> k6/stack-comparison.js
+//   k6 run -e STACK=reactive -e VUS=2000 -e TOKEN=<jwt> k6/stack-comparison.js
+//
+// Start the backend without and with --spring.profiles.active=reactive. TOKEN is needed to read
+// heap usage from /actuator/metrics on the management port (MANAGEMENT_URL); heap growth under
+// load divided by VUS approximates memory per connection. Each run writes k6/results/stack-<STACK>-<VUS>.json.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MANAGEMENT_URL = __ENV.MANAGEMENT_URL || 'http://localhost:8081';
+const STACK = __ENV.STACK || 'mvc';
+const VUS = parseInt(__ENV.VUS || '2000', 10);
+const DURATION = __ENV.DURATION || '2m';
+const AUTH = __ENV.TOKEN ? { headers: { Authorization: `Bearer ${__ENV.TOKEN}` } } : {};
+
+const heapUsed = new Trend('heap_used_bytes');
+
+export const options = {
+    scenarios: {
+        search: { executor: 'constant-vus', exec: 'search', vus: Math.ceil(VUS / 2), duration: DURATION },
+        detail: { executor: 'constant-vus', exec: 'detail', vus: Math.floor(VUS / 2), duration: DURATION },
+        heap: { executor: 'constant-vus', exec: 'sampleHeap', vus: 1, duration: DURATION },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{endpoint:search}': ['p(99)>=0'],
+        'http_req_duration{endpoint:detail}': ['p(99)>=0'],
+        'http_reqs{endpoint:search}': ['count>=0'],
+        'http_reqs{endpoint:detail}': ['count>=0'],
+    },
+};
+
+function readHeap() {
+    const response = http.get(`${MANAGEMENT_URL}/actuator/metrics/jvm.memory.used?tag=area:heap`,
+        Object.assign({ tags: { endpoint: 'metrics' } }, AUTH));
+    return response.status === 200 ? response.json('measurements.0.value') : null;
+}
+
+export function setup() {
+    const ids = http.get(`${BASE_URL}/api/restaurants?size=100`).json('content').map((r) => r.id);
+    return { ids, baselineHeap: readHeap() };
+}
+
+export function search() {
+    const response = http.get(`${BASE_URL}/api/restaurants?q=pizza&size=20`, { tags: { endpoint: 'search' } });
+    check(response, { 'search ok': (r) => r.status === 200 });
+}
+
+export function detail(data) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    const response = http.get(`${BASE_URL}/api/restaurants/${id}`, { tags: { endpoint: 'detail' } });
+    check(response, { 'detail ok': (r) => r.status === 200 });
+}
+
+export function sampleHeap() {
+    const value = readHeap();
+    if (value !== null) {
+        heapUsed.add(value);
+    }
+    sleep(5);
+}
+
+export function handleSummary(data) {
+    const endpoint = (name) => ({
+        requestsPerSecond: data.metrics[`http_reqs{endpoint:${name}}`].values.rate,
+        p99Ms: data.metrics[`http_req_duration{endpoint:${name}}`].values['p(99)'],
+    });
+    const baseline = data.setup_data && data.setup_data.baselineHeap;
+    const peak = data.metrics.heap_used_bytes ? data.metrics.heap_used_bytes.values.max : null;
+
+    const result = {
+        stack: STACK,
+        vus: VUS,
+        duration: DURATION,
+        search: endpoint('search'),
+        detail: endpoint('detail'),
+        heapBytesPerConnection: baseline && peak ? Math.round((peak - baseline) / VUS) : null,
+    };
+
+    return {
+        stdout: JSON.stringify(result, null, 2) + '\n',
+        [`k6/results/stack-${STACK}-${VUS}.json`]: JSON.stringify(result, null, 2),
+    };
+}
@@ -0,0 +1,86 @@
+// Compares platform and virtual request threads on the search and detail endpoints.
+//
+//   k6 run -e MODE=platform -e VUS=1000 k6/threading-comparison.js
+//   k6 run -e MODE=virtual  -e VUS=1000 k6/threading-comparison.js
+//
+// Run once per VUS value (1000, 5000, 10000) against a backend started without and with
+// --spring.profiles.active=virtual-threads. Each run writes k6/results/<MODE>-<VUS>.json
+// with throughput and p99 latency per endpoint.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+const DURATION = __ENV.DURATION || '2m';
+const QUERIES = ['pizza', 'sushi', 'curry', 'burger', 'thai', 'italian', 'dim sum', 'tapas'];
+
+export const options = {
+    scenarios: {
+        search: {
+            executor: 'constant-vus',
+            exec: 'search',
+            vus: Math.ceil(VUS / 2),
+            duration: DURATION,
+        },
+        detail: {
+            executor: 'constant-vus',
+            exec: 'detail',
+            vus: Math.floor(VUS / 2),
+            duration: DURATION,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{endpoint:search}': ['p(99)>=0'],
+        'http_req_duration{endpoint:detail}': ['p(99)>=0'],
+        'http_reqs{endpoint:search}': ['count>=0'],
+        'http_reqs{endpoint:detail}': ['count>=0'],
+    },
+};
+
+export function setup() {
+    const response = http.get(`${BASE_URL}/api/restaurants?size=100`);
+    const ids = response.json('content').map((restaurant) => restaurant.id);
+    if (ids.length === 0) {
+        throw new Error('No restaurants indexed; load sample data first');
+    }
+    return { ids };
+}
+
+export function search() {
+    const q = QUERIES[Math.floor(Math.random() * QUERIES.length)];
+    const response = http.get(`${BASE_URL}/api/restaurants?q=${encodeURIComponent(q)}&size=20`, {
+        tags: { endpoint: 'search' },
+    });
+    check(response, { 'search ok': (r) => r.status === 200 });
+}
+
+export function detail(data) {
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    const response = http.get(`${BASE_URL}/api/restaurants/${id}`, {
+        tags: { endpoint: 'detail' },
+    });
+    check(response, { 'detail ok': (r) => r.status === 200 });
+}
+
+export function handleSummary(data) {
+    const endpoint = (name) => ({
+        requestsPerSecond: data.metrics[`http_reqs{endpoint:${name}}`].values.rate,
+        p99Ms: data.metrics[`http_req_duration{endpoint:${name}}`].values['p(99)'],
+    });
+
+    const result = {
+        mode: MODE,
+        vus: VUS,
+        duration: DURATION,
+        failedRate: data.metrics.http_req_failed.values.rate,
+        search: endpoint('search'),
+        detail: endpoint('detail'),
+    };
+
+    return {
+        stdout: JSON.stringify(result, null, 2) + '\n',
+        [`k6/results/${MODE}-${VUS}.json`]: JSON.stringify(result, null, 2),
+    };
+}
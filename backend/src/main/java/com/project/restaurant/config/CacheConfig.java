@@ -0,0 +1,56 @@
+package com.project.restaurant.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String RESTAURANT_SUGGESTIONS = "restaurantSuggestions";
+    public static final String RESTAURANT_DETAILS = "restaurantDetails";
+    public static final String PHOTO_FILES = "photoFiles";
+    public static final String GEOCODES = "geocodes";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.suggestions.maximum-size:10000}") long suggestionsMaximumSize,
+            @Value("${app.cache.suggestions.ttl:60s}") Duration suggestionsTtl,
+            @Value("${app.cache.restaurants.maximum-size:5000}") long restaurantsMaximumSize,
+            @Value("${app.cache.restaurants.ttl:10m}") Duration restaurantsTtl,
+            @Value("${app.cache.photo-files.maximum-size:20000}") long photoFilesMaximumSize,
+            @Value("${app.cache.photo-files.ttl:1h}") Duration photoFilesTtl,
+            @Value("${app.geocoding.cache.maximum-size:100000}") long geocodesMaximumSize,
+            @Value("${app.geocoding.cache.ttl:30d}") Duration geocodesTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(RESTAURANT_SUGGESTIONS, Caffeine.newBuilder()
+                .maximumSize(suggestionsMaximumSize)
+                .expireAfterWrite(suggestionsTtl)
+                .recordStats()
+                .build());
+        // Writes evict entries explicitly; the TTL only bounds how long an out-of-band change can stay visible
+        cacheManager.registerCustomCache(RESTAURANT_DETAILS, Caffeine.newBuilder()
+                .maximumSize(restaurantsMaximumSize)
+                .expireAfterWrite(restaurantsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PHOTO_FILES, Caffeine.newBuilder()
+                .maximumSize(photoFilesMaximumSize)
+                .expireAfterWrite(photoFilesTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(GEOCODES, Caffeine.newBuilder()
+                .maximumSize(geocodesMaximumSize)
+                .expireAfterWrite(geocodesTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.restaurant.config;
+
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.elasticsearch.client.RestClientBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.elasticsearch.RestClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ElasticsearchClientConfig {
+
+    // Defaults to the client's own limits (30 total, 10 per node), which cap in-flight ES requests
+    // far below what a virtual-thread web tier can have waiting; the virtual-threads profile raises them
+    @Bean
+    public RestClientBuilderCustomizer elasticsearchConnectionPoolCustomizer(
+            @Value("${app.elasticsearch.max-connections:30}") int maxConnections,
+            @Value("${app.elasticsearch.max-connections-per-route:10}") int maxConnectionsPerRoute) {
+        return new RestClientBuilderCustomizer() {
+            @Override
+            public void customize(RestClientBuilder builder) {
+            }
+
+            @Override
+            public void customize(HttpAsyncClientBuilder builder) {
+                builder.setMaxConnTotal(maxConnections);
+                builder.setMaxConnPerRoute(maxConnectionsPerRoute);
+            }
+        };
+    }
+}
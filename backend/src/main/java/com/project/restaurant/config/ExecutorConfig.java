@@ -0,0 +1,75 @@
+package com.project.restaurant.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class ExecutorConfig {
+
+    @Bean
+    public AsyncTaskExecutor geocodingExecutor(
+            @Value("${app.geocoding.parallelism:8}") int parallelism,
+            Environment environment) {
+        // Geocoding only waits on I/O, so with virtual threads a concurrency limit replaces the pool
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("geocoding-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(parallelism);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("geocoding-");
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 100);
+        // When the queue is full the submitting thread geocodes itself, which throttles the caller
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // Runs batch calls for the geocoding batcher. Kept apart from geocodingExecutor, whose
+    // threads block on these batches and could otherwise starve them.
+    @Bean
+    public AsyncTaskExecutor geocodingBatchExecutor(
+            @Value("${app.geocoding.batch.parallelism:4}") int parallelism,
+            Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("geocoding-batch-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(parallelism);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("geocoding-batch-");
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        return executor;
+    }
+
+    // Resizing is CPU bound, so this stays a small platform-thread pool even when virtual threads are enabled
+    @Bean
+    public ThreadPoolTaskExecutor photoVariantExecutor(
+            @Value("${app.photos.variants.parallelism:2}") int parallelism,
+            @Value("${app.photos.variants.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("photo-variants-");
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        // Decoding full-size images is memory heavy, so a full queue rejects instead of piling up work
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
@@ -0,0 +1,53 @@
+package com.project.restaurant.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.services.GeoLocationService;
+import com.project.restaurant.services.impl.BatchingGeoLocationService;
+import com.project.restaurant.services.impl.CachingGeoLocationService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * Wraps the raw geocoder, the bean qualified {@code "geocoder"}, as cache -> batcher -> geocoder.
+ * The batcher is only created when the geocoder {@linkplain GeoLocationService#supportsBatch()
+ * supports batches}; otherwise the cache calls the geocoder directly.
+ * Everything else injects the primary {@link GeoLocationService}.
+ */
+@Configuration
+public class GeoLocationConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @Lazy
+    public BatchingGeoLocationService batchingGeoLocationService(
+            @Qualifier("geocoder") GeoLocationService geocoder,
+            @Qualifier("geocodingBatchExecutor") AsyncTaskExecutor geocodingBatchExecutor,
+            @Value("${app.geocoding.batch.max-size:50}") int maxBatchSize,
+            @Value("${app.geocoding.batch.max-wait:20ms}") Duration maxWait) {
+        return new BatchingGeoLocationService(geocoder, geocodingBatchExecutor, maxBatchSize, maxWait);
+    }
+
+    @Bean(initMethod = "restoreSnapshot", destroyMethod = "writeSnapshot")
+    @Primary
+    public CachingGeoLocationService geoLocationService(
+            @Qualifier("geocoder") GeoLocationService geocoder,
+            ObjectProvider<BatchingGeoLocationService> batchingGeoLocationService,
+            CacheManager cacheManager,
+            ObjectMapper objectMapper,
+            @Value("${app.geocoding.cache.snapshot-path:}") String snapshotPath) {
+        return new CachingGeoLocationService(
+                geocoder.supportsBatch() ? batchingGeoLocationService.getObject() : geocoder,
+                (CaffeineCache) cacheManager.getCache(CacheConfig.GEOCODES),
+                objectMapper,
+                snapshotPath);
+    }
+}
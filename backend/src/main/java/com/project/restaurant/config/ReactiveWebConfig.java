@@ -0,0 +1,38 @@
+package com.project.restaurant.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.ReactiveSortHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * WebFlux setup for the {@code reactive} profile. Spring Boot only registers the Spring Data
+ * {@code Pageable}/{@code Sort} argument resolvers for Spring MVC, so they are added here.
+ * <p>
+ * Tomcat is on the classpath for the servlet stack, and Spring Boot prefers it over Netty for a
+ * reactive server too; declaring the server factory keeps this profile on Netty.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(
+            ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        return factory;
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        ReactiveSortHandlerMethodArgumentResolver sortResolver = new ReactiveSortHandlerMethodArgumentResolver();
+        configurer.addCustomResolver(sortResolver, new ReactivePageableHandlerMethodArgumentResolver(sortResolver));
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.restaurant.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+
+@Configuration
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3StorageConfig {
+
+    @Value("${app.storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${app.storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${app.storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${app.storage.s3.secret-key:}")
+    private String secretKey;
+
+    // MinIO and most other S3 stand-ins only support path-style bucket addressing
+    @Value("${app.storage.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
+
+    @Bean(destroyMethod = "close")
+    public S3Client s3Client() {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider())
+                .serviceConfiguration(s3Configuration());
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider())
+                .serviceConfiguration(s3Configuration());
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    private S3Configuration s3Configuration() {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+    }
+
+    private AwsCredentialsProvider credentialsProvider() {
+        if (StringUtils.hasText(accessKey)) {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+        return DefaultCredentialsProvider.builder().build();
+    }
+}
@@ -2,16 +2,21 @@ package com.project.restaurant.controllers;
 
 import com.project.restaurant.domain.dtos.ErrorDto;
 import com.project.restaurant.exceptions.BaseException;
+import com.project.restaurant.exceptions.InvalidCursorException;
+import com.project.restaurant.exceptions.PhotoTooLargeException;
 import com.project.restaurant.exceptions.RestaurantNotFoundException;
+import com.project.restaurant.exceptions.ReviewAlreadyExistsException;
 import com.project.restaurant.exceptions.ReviewNotAllowedException;
 import com.project.restaurant.exceptions.StorageException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.stream.Collectors;
 
@@ -100,5 +105,52 @@ public class ErrorController {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ReviewAlreadyExistsException.class)
+    public ResponseEntity<ErrorDto> handleReviewAlreadyExistsException(ReviewAlreadyExistsException ex) {
+        log.error("Caught ReviewAlreadyExistsException exception", ex);
+
+        ErrorDto error = ErrorDto.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message("You have already reviewed this restaurant")
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorDto> handleInvalidCursorException(InvalidCursorException ex) {
+        log.error("Caught InvalidCursorException exception", ex);
+
+        ErrorDto error = ErrorDto.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("The supplied cursor is invalid or has expired")
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDto> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.error("Caught OptimisticLockingFailureException exception", ex);
+
+        ErrorDto error = ErrorDto.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message("The resource was modified concurrently, please try again")
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler({PhotoTooLargeException.class, MaxUploadSizeExceededException.class})
+    public ResponseEntity<ErrorDto> handlePhotoTooLargeException(Exception ex) {
+        log.error("Caught PhotoTooLargeException exception", ex);
+
+        ErrorDto error = ErrorDto.builder()
+                .status(HttpStatus.PAYLOAD_TOO_LARGE.value())
+                .message("The uploaded photo exceeds the maximum allowed size")
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
 
 }
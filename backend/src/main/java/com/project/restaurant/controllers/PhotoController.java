@@ -1,44 +1,99 @@
 package com.project.restaurant.controllers;
 
+import com.project.restaurant.domain.PhotoVariant;
+import com.project.restaurant.domain.StoredFile;
 import com.project.restaurant.domain.dtos.PhotoDto;
 import com.project.restaurant.domain.entities.Photo;
 import com.project.restaurant.mappers.PhotoMapper;
 import com.project.restaurant.services.PhotoService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.MediaTypeFactory;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/photos")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PhotoController {
 
+    private static final CacheControl PHOTO_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+    private static final CacheControl VARIANT_PENDING_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(1));
+
     private final PhotoService photoService;
 
     private final PhotoMapper photoMapper;
 
-    @PostMapping
+    private final PhotoResponseWriter photoResponseWriter;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public PhotoDto uploadPhoto(
             @RequestParam("file") MultipartFile file) {
         Photo savedPhoto = photoService.uploadPhoto(file);
         return photoMapper.toDto(savedPhoto);
     }
 
+    // Raw image bodies are hashed and written in a single pass, without multipart buffering
+    @PostMapping(consumes = "image/*")
+    public PhotoDto uploadRawPhoto(InputStream content, HttpServletRequest request) {
+        Photo savedPhoto = photoService.uploadPhoto(content, request.getContentType(), request.getContentLengthLong());
+        return photoMapper.toDto(savedPhoto);
+    }
+
     @GetMapping("/{id:.+}")
-    public ResponseEntity<Resource> getPhoto(@PathVariable String id) {
-        return photoService.getPhotoAsResources(id).map(photo ->
-                ResponseEntity.ok()
-                        .contentType(MediaTypeFactory
-                                .getMediaType(photo)
-                                .orElse(MediaType.APPLICATION_OCTET_STREAM))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
-                        .body(photo)
-        ).orElse(ResponseEntity.notFound().build());
+    public void getPhoto(@PathVariable String id,
+                         @RequestParam(required = false) String size,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        Optional<PhotoVariant> variant = Optional.empty();
+        if (size != null) {
+            variant = PhotoVariant.fromParameter(size);
+            if (variant.isEmpty()) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+        }
+
+        Optional<StoredFile> variantFile = variant.flatMap(v -> photoService.getPhotoFile(id, v));
+        Optional<StoredFile> photo = variantFile.or(() -> photoService.getPhotoFile(id));
+        if (photo.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        StoredFile file = photo.get();
+        Optional<URI> downloadUrl = photoService.getDownloadUrl(file);
+        if (downloadUrl.isPresent()) {
+            response.setStatus(HttpServletResponse.SC_FOUND);
+            response.setHeader(HttpHeaders.LOCATION, downloadUrl.get().toString());
+            return;
+        }
+
+        if (new ServletWebRequest(request, response).checkNotModified(file.etag(), file.getLastModified())) {
+            return;
+        }
+
+        // Photo files are named by content hash and never rewritten, so clients may keep them indefinitely.
+        // A variant that is still being generated is answered with the original, which must not stick.
+        boolean fallback = variant.isPresent() && variantFile.isEmpty();
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                (fallback ? VARIANT_PENDING_CACHE_CONTROL : PHOTO_CACHE_CONTROL).getHeaderValue());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline");
+        photoResponseWriter.write(file, request, response);
     }
 
 }
@@ -0,0 +1,96 @@
+package com.project.restaurant.controllers;
+
+import com.project.restaurant.domain.RestaurantDetails;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.dtos.RestaurantDto;
+import com.project.restaurant.domain.dtos.RestaurantSummaryDto;
+import com.project.restaurant.mappers.RestaurantMapper;
+import com.project.restaurant.services.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only restaurant API for the {@code reactive} profile. Paths and JSON shapes match
+ * {@link RestaurantController}; search can additionally be streamed as NDJSON or SSE.
+ */
+@RestController
+@RequestMapping("/api/restaurants")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRestaurantController {
+
+    private static final int MAX_STREAMED_RESULTS = 1000;
+
+    private final ReactiveReadService reactiveReadService;
+    private final RestaurantMapper restaurantMapper;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Page<RestaurantSummaryDto>> searchRestaurant(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Float minRating,
+            @RequestParam(required = false) Float latitude,
+            @RequestParam(required = false) Float longitude,
+            @RequestParam(required = false) Float radius,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        RestaurantSearchCriteria criteria = criteria(q, minRating, latitude, longitude, radius, sort);
+
+        return reactiveReadService.searchRestaurants(criteria, PageRequest.of(page - 1, size))
+                .map(result -> result.map(restaurantMapper::toSummaryDto));
+    }
+
+    // Each summary is written as soon as its hit arrives; a client disconnect cancels the search
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<RestaurantSummaryDto> streamRestaurants(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Float minRating,
+            @RequestParam(required = false) Float latitude,
+            @RequestParam(required = false) Float longitude,
+            @RequestParam(required = false) Float radius,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "100") int limit) {
+        RestaurantSearchCriteria criteria = criteria(q, minRating, latitude, longitude, radius, sort);
+
+        return reactiveReadService.streamRestaurants(criteria, Math.clamp(limit, 1, MAX_STREAMED_RESULTS))
+                .map(restaurantMapper::toSummaryDto);
+    }
+
+    @GetMapping("/{restaurant_id}")
+    public Mono<ResponseEntity<RestaurantDto>> getRestaurant(@PathVariable("restaurant_id") String restaurantId,
+                                                             ServerWebExchange exchange) {
+        return reactiveReadService.getRestaurant(restaurantId)
+                .map(restaurant -> exchange.checkNotModified(RestaurantDetails.etag(restaurant))
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).<RestaurantDto>build()
+                        : ResponseEntity.ok()
+                                .cacheControl(CacheControl.noCache())
+                                .body(restaurantMapper.toRestaurantDto(restaurant)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private RestaurantSearchCriteria criteria(String q, Float minRating, Float latitude, Float longitude,
+                                              Float radius, String sort) {
+        return RestaurantSearchCriteria.builder()
+                .query(q)
+                .minRating(minRating)
+                .latitude(latitude)
+                .longitude(longitude)
+                .radiusKm(radius)
+                .sortByDistance("distance".equals(sort))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.restaurant.controllers;
+
+import com.project.restaurant.domain.dtos.ReviewDto;
+import com.project.restaurant.mappers.ReviewMapper;
+import com.project.restaurant.services.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/restaurants/{restaurantId}/reviews")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReviewController {
+
+    private final ReactiveReadService reactiveReadService;
+    private final ReviewMapper reviewMapper;
+
+    @GetMapping
+    public Mono<Page<ReviewDto>> listReview(@PathVariable String restaurantId,
+                                            @PageableDefault(size = 20, page = 0, sort = "datePosted",
+                                                    direction = Sort.Direction.DESC) Pageable pageable) {
+        return reactiveReadService.listRestaurantReviews(restaurantId, pageable)
+                .map(reviews -> reviews.map(reviewMapper::toReviewDto));
+    }
+}
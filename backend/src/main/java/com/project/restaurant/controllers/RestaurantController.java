@@ -1,26 +1,52 @@
 package com.project.restaurant.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.domain.CursorPage;
 import com.project.restaurant.domain.RestaurantCreateUpdateRequest;
+import com.project.restaurant.domain.RestaurantDetails;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
 import com.project.restaurant.domain.dtos.RestaurantCreateUpdateDto;
 import com.project.restaurant.domain.dtos.RestaurantDto;
+import com.project.restaurant.domain.dtos.RestaurantSuggestionDto;
 import com.project.restaurant.domain.dtos.RestaurantSummaryDto;
 import com.project.restaurant.domain.entities.Restaurant;
 import com.project.restaurant.mappers.RestaurantMapper;
+import com.project.restaurant.services.RestaurantDetailsService;
+import com.project.restaurant.services.RestaurantImportService;
 import com.project.restaurant.services.RestaurantService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/restaurants")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RestaurantController {
 
+    private static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_SCROLL_PAGE_SIZE = 100;
+
     private final RestaurantService restaurantService;
+    private final RestaurantDetailsService restaurantDetailsService;
     private final RestaurantMapper restaurantMapper;
+    private final RestaurantImportService restaurantImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<RestaurantDto> createRestaurant(
@@ -32,6 +58,23 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantDto);
     }
 
+    @PostMapping(path = "/import", consumes = "application/x-ndjson")
+    public void importRestaurants(InputStream ndjson, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        OutputStream report = response.getOutputStream();
+
+        restaurantImportService.importRestaurants(ndjson, result -> {
+            try {
+                report.write(objectMapper.writeValueAsBytes(result));
+                report.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        report.flush();
+    }
+
     @GetMapping
     public Page<RestaurantSummaryDto> searchRestaurant(
             @RequestParam(required = false) String q,
@@ -39,24 +82,65 @@ public class RestaurantController {
             @RequestParam(required = false) Float latitude,
             @RequestParam(required = false) Float longitude,
             @RequestParam(required = false) Float radius,
+            @RequestParam(required = false) String sort,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int size) {
+        RestaurantSearchCriteria criteria = searchCriteria(q, minRating, latitude, longitude, radius, sort);
+
         Page<Restaurant> searchResult = restaurantService.searchRestaurants(
-                q,
-                minRating,
-                latitude,
-                longitude,
-                radius,
+                criteria,
                 PageRequest.of(page - 1, size)
         );
         return searchResult.map(restaurantMapper::toSummaryDto);
     }
 
+    // For infinite scroll: pass the same filters with each page's nextCursor; no total is returned
+    @GetMapping("/scroll")
+    public CursorPage<RestaurantSummaryDto> scrollRestaurants(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Float minRating,
+            @RequestParam(required = false) Float latitude,
+            @RequestParam(required = false) Float longitude,
+            @RequestParam(required = false) Float radius,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        RestaurantSearchCriteria criteria = searchCriteria(q, minRating, latitude, longitude, radius, sort);
+
+        return restaurantService.scrollRestaurants(criteria, Math.clamp(size, 1, MAX_SCROLL_PAGE_SIZE), cursor)
+                .map(restaurantMapper::toSummaryDto);
+    }
+
+    @GetMapping("/suggest")
+    public List<RestaurantSuggestionDto> suggestRestaurants(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "5") int size) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+
+        return restaurantService.suggestRestaurants(prefix, Math.clamp(size, 1, MAX_SUGGESTIONS))
+                .stream()
+                .map(restaurantMapper::toSuggestionDto)
+                .toList();
+    }
+
     @GetMapping("/{restaurant_id}")
-    public ResponseEntity<RestaurantDto> getRestaurant(@PathVariable("restaurant_id") String restaurantId) {
-        return restaurantService.getRestaurant(restaurantId)
-                .map(restaurant -> ResponseEntity.ok(restaurantMapper.toRestaurantDto(restaurant)))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getRestaurant(@PathVariable("restaurant_id") String restaurantId,
+                                                WebRequest webRequest) {
+        Optional<RestaurantDetails> details = restaurantDetailsService.getRestaurantDetails(restaurantId);
+        if (details.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (webRequest.checkNotModified(details.get().getEtag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(details.get().getBody());
     }
 
     @PutMapping("/{restaurant_id}")
@@ -75,5 +159,17 @@ public class RestaurantController {
         return ResponseEntity.noContent().build();
     }
 
+    private RestaurantSearchCriteria searchCriteria(String q, Float minRating, Float latitude, Float longitude,
+                                                    Float radius, String sort) {
+        return RestaurantSearchCriteria.builder()
+                .query(q)
+                .minRating(minRating)
+                .latitude(latitude)
+                .longitude(longitude)
+                .radiusKm(radius)
+                .sortByDistance("distance".equals(sort))
+                .build();
+    }
+
 
 }
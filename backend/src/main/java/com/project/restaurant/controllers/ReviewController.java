@@ -1,5 +1,6 @@
 package com.project.restaurant.controllers;
 
+import com.project.restaurant.domain.CursorPage;
 import com.project.restaurant.domain.ReviewCreateUpdateRequest;
 import com.project.restaurant.domain.dtos.ReviewCreateUpdateDto;
 import com.project.restaurant.domain.dtos.ReviewDto;
@@ -9,18 +10,26 @@ import com.project.restaurant.mappers.ReviewMapper;
 import com.project.restaurant.services.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/api/restaurants/{restaurantId}/reviews")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ReviewController {
 
     private final ReviewService reviewService;
@@ -40,10 +49,27 @@ public class ReviewController {
     }
 
     @GetMapping
-    public Page<ReviewDto> listReview(@PathVariable String restaurantId,
-                                      @PageableDefault(size = 20, page = 0, sort = "datePosted",
-                                              direction = Sort.Direction.DESC) Pageable pageable) {
-        return reviewService.listRestaurantReviews(restaurantId, pageable)
+    public ResponseEntity<Page<ReviewDto>> listReview(@PathVariable String restaurantId,
+                                                      @PageableDefault(size = 20, page = 0, sort = "datePosted",
+                                                              direction = Sort.Direction.DESC) Pageable pageable,
+                                                      WebRequest webRequest) {
+        Page<Review> reviews = reviewService.listRestaurantReviews(restaurantId, pageable);
+
+        if (webRequest.checkNotModified(pageEtag(reviews))) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(reviews.map(reviewMapper::toReviewDto));
+    }
+
+    @GetMapping("/scroll")
+    public CursorPage<ReviewDto> scrollReviews(@PathVariable String restaurantId,
+                                               @RequestParam(required = false) String cursor,
+                                               @PageableDefault(size = 20, sort = "datePosted",
+                                                       direction = Sort.Direction.DESC) Pageable pageable) {
+        return reviewService.scrollRestaurantReviews(restaurantId, pageable.getSort(), pageable.getPageSize(), cursor)
                 .map(reviewMapper::toReviewDto);
     }
 
@@ -81,6 +107,24 @@ public class ReviewController {
         return ResponseEntity.noContent().build();
     }
 
+    // A page is unchanged when the same review versions come back in the same order for the same total
+    private String pageEtag(Page<Review> reviews) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(reviews.getPageable())
+                .append('|')
+                .append(reviews.getTotalElements());
+
+        reviews.forEach(review -> {
+            SeqNoPrimaryTerm version = review.getSeqNoPrimaryTerm();
+            fingerprint.append('|').append(review.getId());
+            if (version != null) {
+                fingerprint.append(':').append(version.primaryTerm()).append('-').append(version.sequenceNumber());
+            }
+        });
+
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
     private User jwtToUser(Jwt jwt) {
         return new User(
                 jwt.getSubject(),
@@ -0,0 +1,34 @@
+package com.project.restaurant.controllers;
+
+import com.project.restaurant.domain.dtos.ReviewDto;
+import com.project.restaurant.mappers.ReviewMapper;
+import com.project.restaurant.services.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users/me/reviews")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class UserReviewController {
+
+    private final ReviewService reviewService;
+    private final ReviewMapper reviewMapper;
+
+    @GetMapping
+    public Page<ReviewDto> listMyReviews(@AuthenticationPrincipal Jwt jwt,
+                                         @PageableDefault(size = 20, sort = "datePosted",
+                                                 direction = Sort.Direction.DESC) Pageable pageable) {
+        return reviewService.listUserReviews(jwt.getSubject(), pageable)
+                .map(reviewMapper::toReviewDto);
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.restaurant.diagnostics;
+
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.VersionedRatingStats;
+import com.project.restaurant.repositories.RestaurantRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the distribution of review counts per restaurant as gauges, one per quantile, under
+ * {@code restaurant.reviews.per.restaurant}. Detail and review-list latency grows with this, so
+ * the tail is worth watching next to the request timers. Refreshed from the stored rating
+ * aggregates, which only reads three small fields per restaurant.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.metrics.review-counts.enabled", havingValue = "true", matchIfMissing = true)
+public class ReviewCountMetrics {
+
+    private static final Map<String, Double> QUANTILES = Map.of(
+            "0.5", 0.5,
+            "0.9", 0.9,
+            "0.99", 0.99,
+            "1.0", 1.0);
+
+    private final RestaurantRepository restaurantRepository;
+    private final Map<String, AtomicLong> quantileValues = new LinkedHashMap<>();
+    private final AtomicLong restaurants = new AtomicLong();
+
+    public ReviewCountMetrics(RestaurantRepository restaurantRepository, MeterRegistry meterRegistry) {
+        this.restaurantRepository = restaurantRepository;
+
+        QUANTILES.keySet().forEach(quantile -> {
+            AtomicLong value = new AtomicLong();
+            quantileValues.put(quantile, value);
+            Gauge.builder("restaurant.reviews.per.restaurant", value, AtomicLong::get)
+                    .tag("quantile", quantile)
+                    .description("Reviews per restaurant at the given quantile")
+                    .register(meterRegistry);
+        });
+        Gauge.builder("restaurant.count", restaurants, AtomicLong::get)
+                .description("Restaurants included in the review count distribution")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.metrics.review-counts.initial-delay:PT1M}",
+            fixedDelayString = "${app.metrics.review-counts.interval:PT15M}")
+    public void refresh() {
+        long[] counts = restaurantRepository.findAllRatingStats().values().stream()
+                .map(VersionedRatingStats::getStats)
+                .mapToLong(RatingStats::getCount)
+                .sorted()
+                .toArray();
+
+        restaurants.set(counts.length);
+        QUANTILES.forEach((quantile, fraction) ->
+                quantileValues.get(quantile).set(valueAt(counts, fraction)));
+
+        log.debug("Refreshed review count distribution over {} restaurants: {}", counts.length,
+                Arrays.toString(quantileValues.values().toArray()));
+    }
+
+    private static long valueAt(long[] sortedCounts, double fraction) {
+        if (sortedCounts.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sortedCounts.length) - 1;
+        return sortedCounts[Math.max(0, Math.min(index, sortedCounts.length - 1))];
+    }
+}
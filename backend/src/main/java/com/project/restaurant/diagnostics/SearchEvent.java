@@ -0,0 +1,24 @@
+package com.project.restaurant.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one restaurant search or suggest request to Elasticsearch.
+ */
+@Name("com.project.restaurant.Search")
+@Label("Elasticsearch Search")
+@Category({"Restaurant", "Elasticsearch"})
+@Description("A restaurant search or suggest request to Elasticsearch")
+@StackTrace(false)
+public class SearchEvent extends jdk.jfr.Event {
+
+    @Label("Query Type")
+    public String queryType;
+
+    @Label("Hits")
+    public long hits;
+}
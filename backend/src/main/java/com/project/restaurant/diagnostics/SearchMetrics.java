@@ -0,0 +1,47 @@
+package com.project.restaurant.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Times Elasticsearch search requests as {@code restaurant.search.requests}, tagged by query type,
+ * records their hit counts as {@code restaurant.search.hits} and emits a {@link SearchEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T record(String queryType, Supplier<T> search, ToLongFunction<T> hits) {
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        long hitCount = 0;
+        try {
+            T result = search.get();
+            hitCount = hits.applyAsLong(result);
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("restaurant.search.requests")
+                    .tag("type", queryType)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            meterRegistry.summary("restaurant.search.hits", "type", queryType).record(hitCount);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.queryType = queryType;
+                event.hits = hitCount;
+                event.commit();
+            }
+        }
+    }
+}
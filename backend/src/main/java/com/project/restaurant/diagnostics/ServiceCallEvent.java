@@ -0,0 +1,31 @@
+package com.project.restaurant.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one call into a service or mapper bean. Disabled unless a recording
+ * enables {@code com.project.restaurant.ServiceCall}, in which case it costs a timestamp per call.
+ */
+@Name("com.project.restaurant.ServiceCall")
+@Label("Service Call")
+@Category({"Restaurant", "Service"})
+@Description("A call into a service or mapper bean")
+@StackTrace(false)
+public class ServiceCallEvent extends jdk.jfr.Event {
+
+    @Label("Layer")
+    public String layer;
+
+    @Label("Component")
+    public String component;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,74 @@
+package com.project.restaurant.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public call into the restaurant, review, photo and storage services and into the
+ * mappers, as {@code restaurant.service.calls} and {@code restaurant.mapper.calls} tagged with
+ * the component, method and outcome, and emits a {@link ServiceCallEvent} for JFR recordings.
+ * Together with {@code restaurant.search.requests} and {@code http.server.requests} this splits
+ * a request's time between Elasticsearch, mapping and serialization.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private static final String SERVICE_LAYER = "service";
+    private static final String MAPPER_LAYER = "mapper";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.project.restaurant.services.RestaurantService+.*(..))"
+            + " || execution(public * com.project.restaurant.services.ReviewService+.*(..))"
+            + " || execution(public * com.project.restaurant.services.PhotoService+.*(..))"
+            + " || execution(public * com.project.restaurant.services.StorageService+.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE_LAYER, "restaurant.service.calls");
+    }
+
+    @Around("execution(public * com.project.restaurant.mappers.*+.*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, MAPPER_LAYER, "restaurant.mapper.calls");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer, String metricName) throws Throwable {
+        String component = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(metricName)
+                    .tag("component", component)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.layer = layer;
+                event.component = component;
+                event.method = method;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+}
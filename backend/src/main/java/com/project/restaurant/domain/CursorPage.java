@@ -0,0 +1,26 @@
+package com.project.restaurant.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content = new ArrayList<>();
+    private String nextCursor;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream()
+                .<R>map(mapper)
+                .toList();
+        return new CursorPage<>(mapped, nextCursor);
+    }
+}
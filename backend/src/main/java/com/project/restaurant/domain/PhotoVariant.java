@@ -0,0 +1,40 @@
+package com.project.restaurant.domain;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Pre-sized renditions generated for every uploaded photo. Each variant fits inside a
+ * square of {@code maxDimension} pixels and is stored next to the original as JPEG.
+ */
+public enum PhotoVariant {
+    THUMB(320),
+    CARD(800),
+    FULL(1600);
+
+    private final int maxDimension;
+
+    PhotoVariant(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public String getParameter() {
+        return name().toLowerCase();
+    }
+
+    public String filenameFor(String originalFilename) {
+        return StringUtils.stripFilenameExtension(originalFilename) + "-" + getParameter() + ".jpg";
+    }
+
+    public static Optional<PhotoVariant> fromParameter(String parameter) {
+        return Arrays.stream(values())
+                .filter(variant -> variant.getParameter().equalsIgnoreCase(parameter))
+                .findFirst();
+    }
+}
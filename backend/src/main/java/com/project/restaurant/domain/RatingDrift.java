@@ -0,0 +1,16 @@
+package com.project.restaurant.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingDrift {
+    private String restaurantId;
+    private RatingStats stored;
+    private RatingStats actual;
+}
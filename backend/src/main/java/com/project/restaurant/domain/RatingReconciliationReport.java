@@ -0,0 +1,20 @@
+package com.project.restaurant.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingReconciliationReport {
+    private int restaurantsChecked;
+    private List<RatingDrift> drifts = new ArrayList<>();
+    // Drifted restaurants left alone because they changed while the check ran
+    private List<String> skipped = new ArrayList<>();
+}
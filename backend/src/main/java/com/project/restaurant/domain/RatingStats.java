@@ -0,0 +1,49 @@
+package com.project.restaurant.domain;
+
+import com.project.restaurant.domain.entities.Review;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingStats {
+    private long count;
+    private long sum;
+    private Map<String, Long> histogram = new HashMap<>();
+
+    public static RatingStats empty() {
+        return new RatingStats(0, 0, new HashMap<>());
+    }
+
+    public static RatingStats of(Collection<Review> reviews) {
+        RatingStats stats = empty();
+        reviews.forEach(review -> stats.apply(null, review.getRating()));
+        return stats;
+    }
+
+    public RatingStats apply(Integer removedRating, Integer addedRating) {
+        if (removedRating != null) {
+            count--;
+            sum -= removedRating;
+            histogram.computeIfPresent(String.valueOf(removedRating), (key, value) -> value > 1 ? value - 1 : null);
+        }
+        if (addedRating != null) {
+            count++;
+            sum += addedRating;
+            histogram.merge(String.valueOf(addedRating), 1L, Long::sum);
+        }
+        return this;
+    }
+
+    public float average() {
+        return count == 0 ? 0f : (float) sum / count;
+    }
+}
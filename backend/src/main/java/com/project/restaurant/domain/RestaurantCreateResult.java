@@ -0,0 +1,25 @@
+package com.project.restaurant.domain;
+
+import com.project.restaurant.domain.entities.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantCreateResult {
+    private boolean success;
+    private Restaurant restaurant;
+    private String error;
+
+    public static RestaurantCreateResult created(Restaurant restaurant) {
+        return new RestaurantCreateResult(true, restaurant, null);
+    }
+
+    public static RestaurantCreateResult failed(String error) {
+        return new RestaurantCreateResult(false, null, error);
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.restaurant.domain;
+
+import com.project.restaurant.domain.entities.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+
+/**
+ * A restaurant already rendered as the JSON body of GET /api/restaurants/{id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantDetails {
+    private String id;
+    private String etag;
+    private byte[] body;
+
+    // seq_no and primary_term change on every write to the document, reviews' rating updates included
+    public static String etag(Restaurant restaurant) {
+        SeqNoPrimaryTerm version = restaurant.getSeqNoPrimaryTerm();
+        return "\"" + version.primaryTerm() + "-" + version.sequenceNumber() + "\"";
+    }
+}
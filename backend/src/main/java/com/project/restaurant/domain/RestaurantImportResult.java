@@ -0,0 +1,17 @@
+package com.project.restaurant.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantImportResult {
+    private long line;
+    private boolean success;
+    private String restaurantId;
+    private String error;
+}
@@ -0,0 +1,31 @@
+package com.project.restaurant.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantSearchCriteria {
+    private String query;
+    private Float minRating;
+    private Float latitude;
+    private Float longitude;
+    private Float radiusKm;
+    private boolean sortByDistance;
+
+    public boolean hasQuery() {
+        return query != null && !query.isBlank();
+    }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+
+    public boolean hasGeoFilter() {
+        return hasLocation() && radiusKm != null;
+    }
+}
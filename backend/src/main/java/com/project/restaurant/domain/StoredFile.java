@@ -0,0 +1,24 @@
+package com.project.restaurant.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.file.Path;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredFile {
+    private String filename;
+    // Only set by backends that keep files on the local filesystem
+    private Path path;
+    private long contentLength;
+    private long lastModified;
+
+    public String etag() {
+        return "\"" + Long.toHexString(contentLength) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+}
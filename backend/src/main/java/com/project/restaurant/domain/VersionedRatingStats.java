@@ -0,0 +1,19 @@
+package com.project.restaurant.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+
+/**
+ * Rating stats together with the seq_no/primary_term of the restaurant document they belong to.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VersionedRatingStats {
+    private RatingStats stats;
+    private SeqNoPrimaryTerm seqNoPrimaryTerm;
+}
@@ -0,0 +1,15 @@
+package com.project.restaurant.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantSuggestionDto {
+    private String id;
+    private String name;
+}
@@ -0,0 +1,56 @@
+package com.project.restaurant.domain.entities;
+
+import lombok.*;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A review as it was embedded in restaurant documents before reviews got their own index. Only
+ * read by {@code SplitReviewsMigration}; the mapping must stay as it was, since Elasticsearch
+ * cannot change {@code writtenBy} from nested to object on an existing index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmbeddedReview {
+
+    @Field(type = FieldType.Keyword)
+    private String id;
+
+    @Field(type = FieldType.Text)
+    private String content;
+
+    @Field(type = FieldType.Integer)
+    private Integer rating;
+
+    @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second)
+    private LocalDateTime datePosted;
+
+    @Field(type = FieldType.Date,  format = DateFormat.date_hour_minute_second)
+    private LocalDateTime lastEdited;
+
+    @Field(type = FieldType.Nested)
+    private List<Photo> photos = new ArrayList<>();
+
+    @Field(type = FieldType.Nested)
+    private User writtenBy;
+
+    public Review toReview(String restaurantId) {
+        return Review.builder()
+                .id(id)
+                .restaurantId(restaurantId)
+                .content(content)
+                .rating(rating)
+                .datePosted(datePosted)
+                .lastEdited(lastEdited)
+                .photos(photos == null ? new ArrayList<>() : new ArrayList<>(photos))
+                .writtenBy(writtenBy)
+                .build();
+    }
+}
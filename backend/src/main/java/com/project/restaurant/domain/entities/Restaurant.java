@@ -1,14 +1,20 @@
 package com.project.restaurant.domain.entities;
 
 import lombok.*;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.elasticsearch.annotations.CompletionField;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import org.springframework.data.elasticsearch.annotations.GeoPointField;
 import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Document(indexName = "restaurants")
 @Data
@@ -26,12 +32,27 @@ public class Restaurant {
     @Field(type = FieldType.Text)
     private String cuisineType;
 
+    @CompletionField(maxInputLength = 100)
+    private Completion suggest;
+
     @Field(type = FieldType.Keyword)
     private String contactInformation;
 
     @Field(type = FieldType.Float)
     private Float averageRating;
 
+    @Field(type = FieldType.Integer)
+    private Integer totalReviews;
+
+    @Field(type = FieldType.Long)
+    private Long ratingSum;
+
+    @Field(type = FieldType.Long)
+    private Long ratingCount;
+
+    @Field(type = FieldType.Object)
+    private Map<String, Long> ratingHistogram = new HashMap<>();
+
     @GeoPointField
     private GeoPoint geoLocation;
 
@@ -45,8 +66,13 @@ public class Restaurant {
     private List<Photo> photos = new ArrayList<>();
 
     @Field(type = FieldType.Nested)
-    private List<Review> reviews = new ArrayList<>();
+    private List<EmbeddedReview> reviews = new ArrayList<>();
 
     @Field(type = FieldType.Nested)
     private User writtenBy;
+
+    private SeqNoPrimaryTerm seqNoPrimaryTerm;
+
+    @Transient
+    private Double distanceKm;
 }
@@ -2,13 +2,16 @@ package com.project.restaurant.domain.entities;
 
 import lombok.*;
 import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+@Document(indexName = "reviews")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,6 +21,9 @@ public class Review {
     @Field(type = FieldType.Keyword)
     private String id;
 
+    @Field(type = FieldType.Keyword)
+    private String restaurantId;
+
     @Field(type = FieldType.Text)
     private String content;
 
@@ -33,7 +39,14 @@ public class Review {
     @Field(type = FieldType.Nested)
     private List<Photo> photos = new ArrayList<>();
 
-    @Field(type = FieldType.Nested)
+    @Field(type = FieldType.Object)
     private User writtenBy;
 
+    private SeqNoPrimaryTerm seqNoPrimaryTerm;
+
+    // One review per user and restaurant, so the pair is the document id
+    public static String idFor(String restaurantId, String userId) {
+        return restaurantId + "_" + userId;
+    }
+
 }
@@ -0,0 +1,19 @@
+package com.project.restaurant.exceptions;
+
+public class InvalidCursorException extends BaseException {
+    public InvalidCursorException() {
+        super();
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidCursorException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.restaurant.exceptions;
+
+public class PhotoTooLargeException extends BaseException {
+    public PhotoTooLargeException() {
+        super();
+    }
+
+    public PhotoTooLargeException(String message) {
+        super(message);
+    }
+
+    public PhotoTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public PhotoTooLargeException(Throwable cause) {
+        super(cause);
+    }
+}
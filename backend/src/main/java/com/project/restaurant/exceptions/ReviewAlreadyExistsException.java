@@ -0,0 +1,19 @@
+package com.project.restaurant.exceptions;
+
+public class ReviewAlreadyExistsException extends BaseException {
+    public ReviewAlreadyExistsException() {
+        super();
+    }
+
+    public ReviewAlreadyExistsException(String message) {
+        super(message);
+    }
+
+    public ReviewAlreadyExistsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public ReviewAlreadyExistsException(Throwable cause) {
+        super(cause);
+    }
+}
@@ -1,12 +1,16 @@
 package com.project.restaurant.mappers;
 
+import com.project.restaurant.domain.PhotoVariant;
 import com.project.restaurant.domain.RestaurantCreateUpdateRequest;
+import com.project.restaurant.domain.RestaurantSuggestion;
 import com.project.restaurant.domain.dtos.GeoPointDto;
+import com.project.restaurant.domain.dtos.PhotoDto;
 import com.project.restaurant.domain.dtos.RestaurantCreateUpdateDto;
 import com.project.restaurant.domain.dtos.RestaurantDto;
+import com.project.restaurant.domain.dtos.RestaurantSuggestionDto;
 import com.project.restaurant.domain.dtos.RestaurantSummaryDto;
+import com.project.restaurant.domain.entities.Photo;
 import com.project.restaurant.domain.entities.Restaurant;
-import com.project.restaurant.domain.entities.Review;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -21,15 +25,24 @@ public interface RestaurantMapper {
     RestaurantCreateUpdateRequest toRestaurantCreateUpdateRequest(
             RestaurantCreateUpdateDto dto);
 
-    @Mapping(source = "reviews", target = "totalReviews", qualifiedByName = "populateTotalReviews")
     RestaurantDto toRestaurantDto(Restaurant restaurant);
 
-    @Mapping(source = "reviews", target = "totalReviews", qualifiedByName = "populateTotalReviews")
+    @Mapping(target = "photos", qualifiedByName = "thumbnails")
     RestaurantSummaryDto toSummaryDto(Restaurant restaurant);
 
-    @Named("populateTotalReviews")
-    default Integer populateTotalReviews(List<Review> reviews) {
-        return reviews.size();
+    RestaurantSuggestionDto toSuggestionDto(RestaurantSuggestion suggestion);
+
+    @Named("thumbnails")
+    default List<PhotoDto> toThumbnailDtos(List<Photo> photos) {
+        if (photos == null) {
+            return null;
+        }
+        return photos.stream()
+                .map(photo -> PhotoDto.builder()
+                        .url(photo.getUrl() + "?size=" + PhotoVariant.THUMB.getParameter())
+                        .uploadDate(photo.getUploadDate())
+                        .build())
+                .toList();
     }
 
     @Mapping(target = "latitude", expression = "java(geoPoint.getLat())")
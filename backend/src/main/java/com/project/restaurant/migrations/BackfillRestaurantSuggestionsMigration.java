@@ -0,0 +1,47 @@
+package com.project.restaurant.migrations;
+
+import com.project.restaurant.domain.entities.Restaurant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.query.ByQueryResponse;
+import org.springframework.data.elasticsearch.core.query.ScriptType;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the completion field for restaurants indexed before it existed. The field itself is
+ * added to the mapping on every startup by {@link RestaurantMappingUpdater}.
+ * Enable with {@code app.migrations.backfill-suggestions.enabled=true}; it is safe to re-run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.migrations.backfill-suggestions.enabled", havingValue = "true")
+public class BackfillRestaurantSuggestionsMigration implements ApplicationRunner {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        NativeQuery missingSuggestions = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b.mustNot(mn -> mn.exists(e -> e.field("suggest")))))
+                .build();
+
+        UpdateQuery updateQuery = UpdateQuery.builder(missingSuggestions)
+                .withScript("ctx._source.suggest = ['input': [ctx._source.name, ctx._source.cuisineType]]")
+                .withScriptType(ScriptType.INLINE)
+                .withLang("painless")
+                .build();
+
+        ByQueryResponse response = elasticsearchOperations.updateByQuery(
+                updateQuery,
+                elasticsearchOperations.getIndexCoordinatesFor(Restaurant.class));
+
+        log.info("Backfilled suggestions for {} restaurants", response.getUpdated());
+    }
+}
@@ -0,0 +1,70 @@
+package com.project.restaurant.migrations;
+
+import com.project.restaurant.domain.entities.Restaurant;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adds any field the {@link Restaurant} entity declares that the live restaurants index lacks,
+ * such as the {@code suggest} completion field, before the application takes traffic. Otherwise
+ * the first write would map a new field dynamically with the wrong type. Fields already in the
+ * mapping are never sent, since Elasticsearch rejects changing their type.
+ * <p>
+ * Does nothing when no {@link ElasticsearchOperations} is configured, as in the load test.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantMappingUpdater {
+
+    private final ObjectProvider<ElasticsearchOperations> elasticsearchOperations;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    public void addMissingFields() {
+        ElasticsearchOperations operations = elasticsearchOperations.getIfAvailable();
+        if (operations == null) {
+            return;
+        }
+
+        IndexOperations indexOps = operations.indexOps(Restaurant.class);
+        if (!indexOps.exists()) {
+            // The repository creates the index with the full mapping
+            return;
+        }
+
+        Map<String, Object> existing = (Map<String, Object>) indexOps.getMapping()
+                .getOrDefault("properties", Map.of());
+        Map<String, Object> declared = (Map<String, Object>) indexOps.createMapping()
+                .getOrDefault("properties", Map.of());
+
+        warnIfNotCompletion(existing.get("suggest"));
+
+        Map<String, Object> missing = new LinkedHashMap<>(declared);
+        missing.keySet().removeAll(existing.keySet());
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Document mapping = Document.create();
+        mapping.put("properties", missing);
+        indexOps.putMapping(mapping);
+        log.info("Added fields {} to the restaurants mapping", missing.keySet());
+    }
+
+    private void warnIfNotCompletion(Object suggestMapping) {
+        if (suggestMapping instanceof Map<?, ?> field && !"completion".equals(field.get("type"))) {
+            log.error("The restaurants index maps 'suggest' as {} instead of a completion field; "
+                    + "suggestions fail until the index is reindexed", field.getOrDefault("type", "an object"));
+        }
+    }
+}
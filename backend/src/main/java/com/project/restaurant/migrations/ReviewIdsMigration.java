@@ -0,0 +1,66 @@
+package com.project.restaurant.migrations;
+
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.exceptions.ReviewAlreadyExistsException;
+import com.project.restaurant.repositories.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-keys reviews created with random ids to {@code restaurantId_userId}, so the one-review-per-user
+ * rule, which relies on that id, also covers them. A user who already has a review under the new
+ * id keeps both and is logged for manual cleanup.
+ * Enable with {@code app.migrations.review-ids.enabled=true}; it is safe to re-run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.migrations.review-ids.enabled", havingValue = "true")
+public class ReviewIdsMigration implements ApplicationRunner {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ReviewRepository reviewRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.matchAll(m -> m))
+                .build();
+
+        int migrated = 0;
+        int duplicates = 0;
+
+        try (SearchHitsIterator<Review> hits = elasticsearchOperations.searchForStream(query, Review.class)) {
+            while (hits.hasNext()) {
+                Review review = hits.next().getContent();
+                String legacyId = review.getId();
+                String id = Review.idFor(review.getRestaurantId(), review.getWrittenBy().getId());
+                if (id.equals(legacyId)) {
+                    continue;
+                }
+
+                review.setId(id);
+                review.setSeqNoPrimaryTerm(null);
+                try {
+                    reviewRepository.create(review);
+                } catch (ReviewAlreadyExistsException e) {
+                    log.warn("User {} has more than one review for restaurant {}, keeping {} as is",
+                            review.getWrittenBy().getId(), review.getRestaurantId(), legacyId);
+                    duplicates++;
+                    continue;
+                }
+                reviewRepository.deleteById(legacyId);
+                migrated++;
+            }
+        }
+
+        log.info("Re-keyed {} reviews, {} duplicates left in place", migrated, duplicates);
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.restaurant.migrations;
+
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-time migration that moves the reviews nested inside each restaurant document
+ * into the dedicated reviews index and clears the nested list afterwards.
+ * Enable with {@code app.migrations.split-reviews.enabled=true}; it is safe to re-run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.migrations.split-reviews.enabled", havingValue = "true")
+public class SplitReviewsMigration implements ApplicationRunner {
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.nested(n -> n
+                        .path("reviews")
+                        .query(nq -> nq.exists(e -> e.field("reviews.id")))))
+                .build();
+
+        int restaurantCount = 0;
+        int reviewCount = 0;
+
+        try (SearchHitsIterator<Restaurant> hits = elasticsearchOperations.searchForStream(query, Restaurant.class)) {
+            while (hits.hasNext()) {
+                Restaurant restaurant = hits.next().getContent();
+                List<Review> reviews = restaurant.getReviews().stream()
+                        .map(review -> review.toReview(restaurant.getId()))
+                        .toList();
+
+                reviewRepository.saveAll(reviews);
+
+                RatingStats ratingStats = RatingStats.of(reviews);
+                restaurant.setReviews(new ArrayList<>());
+                restaurant.setAverageRating(ratingStats.average());
+                restaurant.setTotalReviews((int) ratingStats.getCount());
+                restaurant.setRatingCount(ratingStats.getCount());
+                restaurant.setRatingSum(ratingStats.getSum());
+                restaurant.setRatingHistogram(ratingStats.getHistogram());
+                restaurantRepository.save(restaurant);
+
+                restaurantCount++;
+                reviewCount += reviews.size();
+            }
+        }
+
+        log.info("Moved {} reviews from {} restaurants into the reviews index", reviewCount, restaurantCount);
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.restaurant.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.exceptions.InvalidCursorException;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque, URL-safe cursor for paging through a point-in-time snapshot: the point-in-time id
+ * together with the sort values of the last hit, to be sent back as {@code search_after}.
+ */
+public record PointInTimeCursor(String pointInTimeId, List<Object> searchAfter) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public String encode() {
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(this);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    public static PointInTimeCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            PointInTimeCursor decoded = OBJECT_MAPPER.readValue(json, PointInTimeCursor.class);
+            if (decoded.pointInTimeId() == null || decoded.searchAfter() == null) {
+                throw new InvalidCursorException("Incomplete cursor: " + cursor);
+            }
+            return decoded;
+        } catch (IllegalArgumentException | IOException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
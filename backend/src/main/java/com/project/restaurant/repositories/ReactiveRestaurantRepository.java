@@ -0,0 +1,10 @@
+package com.project.restaurant.repositories;
+
+import com.project.restaurant.domain.entities.Restaurant;
+import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveRestaurantRepository
+        extends ReactiveElasticsearchRepository<Restaurant, String>, ReactiveRestaurantRepositoryCustom {
+}
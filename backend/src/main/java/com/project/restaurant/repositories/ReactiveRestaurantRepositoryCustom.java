@@ -0,0 +1,19 @@
+package com.project.restaurant.repositories;
+
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.entities.Restaurant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRestaurantRepositoryCustom {
+
+    Mono<Page<Restaurant>> search(RestaurantSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Streams every match in result order. Hits are fetched in batches as downstream demand
+     * arrives, and cancelling the subscription stops further requests to Elasticsearch.
+     */
+    Flux<Restaurant> streamSearch(RestaurantSearchCriteria criteria);
+}
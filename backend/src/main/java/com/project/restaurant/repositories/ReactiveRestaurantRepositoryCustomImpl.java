@@ -0,0 +1,52 @@
+package com.project.restaurant.repositories;
+
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.entities.Restaurant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveRestaurantRepositoryCustomImpl implements ReactiveRestaurantRepositoryCustom {
+
+    private final ReactiveElasticsearchOperations reactiveElasticsearchOperations;
+    private final RestaurantSearchQueryBuilder restaurantSearchQueryBuilder;
+
+    @Override
+    public Mono<Page<Restaurant>> search(RestaurantSearchCriteria criteria, Pageable pageable) {
+        boolean sortedByDistance = criteria.isSortByDistance() && criteria.hasLocation();
+
+        return reactiveElasticsearchOperations
+                .searchForPage(restaurantSearchQueryBuilder.build(criteria, pageable), Restaurant.class)
+                .map(page -> new PageImpl<>(
+                        page.getSearchHits().getSearchHits().stream()
+                                .map(hit -> toRestaurant(hit, sortedByDistance))
+                                .toList(),
+                        pageable,
+                        page.getTotalElements()));
+    }
+
+    // An unpaged query makes the template walk the results with point-in-time + search_after,
+    // closing the point in time when the subscriber cancels
+    @Override
+    public Flux<Restaurant> streamSearch(RestaurantSearchCriteria criteria) {
+        boolean sortedByDistance = criteria.isSortByDistance() && criteria.hasLocation();
+
+        return reactiveElasticsearchOperations
+                .search(restaurantSearchQueryBuilder.build(criteria, Pageable.unpaged()), Restaurant.class)
+                .map(hit -> toRestaurant(hit, sortedByDistance));
+    }
+
+    private Restaurant toRestaurant(SearchHit<Restaurant> hit, boolean sortedByDistance) {
+        Restaurant restaurant = hit.getContent();
+        if (sortedByDistance) {
+            restaurant.setDistanceKm(((Number) hit.getSortValues().getFirst()).doubleValue());
+        }
+        return restaurant;
+    }
+}
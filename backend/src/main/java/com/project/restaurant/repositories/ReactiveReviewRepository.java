@@ -0,0 +1,16 @@
+package com.project.restaurant.repositories;
+
+import com.project.restaurant.domain.entities.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveReviewRepository extends ReactiveElasticsearchRepository<Review, String> {
+
+    Flux<Review> findByRestaurantId(String restaurantId, Pageable pageable);
+
+    Mono<Long> countByRestaurantId(String restaurantId);
+}
@@ -0,0 +1,44 @@
+package com.project.restaurant.repositories;
+
+import com.project.restaurant.domain.CursorPage;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.RestaurantSuggestion;
+import com.project.restaurant.domain.VersionedRatingStats;
+import com.project.restaurant.domain.entities.Restaurant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface RestaurantRepositoryCustom {
+
+    Page<Restaurant> search(RestaurantSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Pages through the search results with a cursor that stays consistent and equally cheap at
+     * any depth. A null cursor starts a new scroll; the last page has no next cursor.
+     */
+    CursorPage<Restaurant> scroll(RestaurantSearchCriteria criteria, int size, String cursor);
+
+    List<RestaurantSuggestion> suggest(String prefix, int size);
+
+    void applyRatingChange(String restaurantId, Integer removedRating, Integer addedRating);
+
+    Map<String, VersionedRatingStats> findAllRatingStats();
+
+    /**
+     * Reads only the restaurant's current seq_no/primary_term, for a later
+     * {@link #updateRatingStatsIfUnchanged} call. Empty if the restaurant does not exist.
+     */
+    Optional<SeqNoPrimaryTerm> findSeqNoPrimaryTerm(String restaurantId);
+
+    /**
+     * Writes each restaurant's stats only if the document is still at the given seq_no/primary_term.
+     * Returns the ids of the restaurants skipped because they were modified in the meantime.
+     */
+    Set<String> updateRatingStatsIfUnchanged(Map<String, VersionedRatingStats> ratingStatsByRestaurant);
+}
@@ -0,0 +1,330 @@
+package com.project.restaurant.repositories;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Script;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.JsonData;
+import com.project.restaurant.diagnostics.SearchMetrics;
+import com.project.restaurant.domain.CursorPage;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.RestaurantSuggestion;
+import com.project.restaurant.domain.VersionedRatingStats;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.exceptions.InvalidCursorException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.ResourceNotFoundException;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.data.elasticsearch.core.query.Query.PointInTime;
+import org.springframework.data.elasticsearch.core.query.ScriptType;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantRepositoryCustomImpl implements RestaurantRepositoryCustom {
+
+    private static final int RETRY_ON_CONFLICT = 5;
+    private static final String SUGGESTION = "restaurant-suggest";
+    private static final String SUGGEST_TIMEOUT = "150ms";
+
+    // Adjusts the running rating aggregate in place; a rating of 0 means "nothing removed/added"
+    private static final String APPLY_RATING_CHANGE_SCRIPT = """
+            def s = ctx._source;
+            if (s.ratingSum == null) { s.ratingSum = 0L; }
+            if (s.ratingCount == null) { s.ratingCount = 0L; }
+            if (s.ratingHistogram == null) { s.ratingHistogram = [:]; }
+            if (params.removed > 0) {
+              String key = String.valueOf(params.removed);
+              s.ratingSum -= params.removed;
+              s.ratingCount -= 1;
+              long remaining = s.ratingHistogram.getOrDefault(key, 0) - 1;
+              if (remaining > 0) { s.ratingHistogram[key] = remaining; } else { s.ratingHistogram.remove(key); }
+            }
+            if (params.added > 0) {
+              String key = String.valueOf(params.added);
+              s.ratingSum += params.added;
+              s.ratingCount += 1;
+              s.ratingHistogram[key] = s.ratingHistogram.getOrDefault(key, 0) + 1;
+            }
+            s.totalReviews = (int) s.ratingCount;
+            s.averageRating = s.ratingCount == 0 ? 0.0 : (double) s.ratingSum / s.ratingCount;
+            """;
+
+    private static final String SET_RATING_STATS_SCRIPT = """
+            def s = ctx._source;
+            s.ratingSum = params.sum;
+            s.ratingCount = params.count;
+            s.ratingHistogram = params.histogram;
+            s.totalReviews = (int) params.count;
+            s.averageRating = params.count == 0 ? 0.0 : (double) params.sum / params.count;
+            """;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final RestaurantSearchQueryBuilder restaurantSearchQueryBuilder;
+    private final SearchMetrics searchMetrics;
+
+    @Value("${app.search.point-in-time.keep-alive:1m}")
+    private Duration pointInTimeKeepAlive;
+
+    @Override
+    public Page<Restaurant> search(RestaurantSearchCriteria criteria, Pageable pageable) {
+        NativeQuery query = restaurantSearchQueryBuilder.build(criteria, pageable);
+        SearchHits<Restaurant> searchHits = searchMetrics.record(
+                restaurantSearchQueryBuilder.queryType(criteria),
+                () -> elasticsearchOperations.search(query, Restaurant.class),
+                SearchHits::getTotalHits);
+
+        List<Restaurant> restaurants = toRestaurants(criteria, searchHits);
+
+        return new PageImpl<>(restaurants, pageable, searchHits.getTotalHits());
+    }
+
+    @Override
+    public CursorPage<Restaurant> scroll(RestaurantSearchCriteria criteria, int size, String cursor) {
+        PointInTimeCursor position = PointInTimeCursor.decode(cursor);
+        String pointInTimeId = position == null
+                ? elasticsearchOperations.openPointInTime(
+                        elasticsearchOperations.getIndexCoordinatesFor(Restaurant.class), pointInTimeKeepAlive)
+                : position.pointInTimeId();
+
+        NativeQuery query = restaurantSearchQueryBuilder.buildScroll(
+                criteria,
+                size,
+                new PointInTime(pointInTimeId, pointInTimeKeepAlive),
+                position == null ? null : position.searchAfter());
+
+        SearchHits<Restaurant> searchHits;
+        try {
+            searchHits = searchMetrics.record(
+                    restaurantSearchQueryBuilder.queryType(criteria) + "+scroll",
+                    () -> elasticsearchOperations.search(query, Restaurant.class),
+                    hits -> hits.getSearchHits().size());
+        } catch (RuntimeException e) {
+            if (position == null) {
+                // Nobody holds a cursor for the point in time just opened, so it would linger until keep-alive
+                closeQuietly(pointInTimeId);
+                throw e;
+            }
+            if (e instanceof ResourceNotFoundException) {
+                // The point in time expired after keep-alive without a follow-up request
+                throw new InvalidCursorException("Point in time has expired: " + pointInTimeId, e);
+            }
+            throw e;
+        }
+
+        List<SearchHit<Restaurant>> hits = searchHits.getSearchHits();
+        if (hits.isEmpty() || hits.size() < size) {
+            closeQuietly(pointInTimeId);
+            return new CursorPage<>(toRestaurants(criteria, searchHits), null);
+        }
+
+        // Elasticsearch may hand back a new id for the same point in time
+        String nextPointInTimeId = searchHits.getPointInTimeId() == null
+                ? pointInTimeId
+                : searchHits.getPointInTimeId();
+        String nextCursor = new PointInTimeCursor(nextPointInTimeId, hits.getLast().getSortValues()).encode();
+
+        return new CursorPage<>(toRestaurants(criteria, searchHits), nextCursor);
+    }
+
+    @Override
+    public List<RestaurantSuggestion> suggest(String prefix, int size) {
+        String index = elasticsearchOperations.getIndexCoordinatesFor(Restaurant.class).getIndexName();
+
+        return searchMetrics.record("suggest", () -> {
+            try {
+                SearchResponse<RestaurantSuggestion> response = elasticsearchClient.search(s -> s
+                                .index(index)
+                                .timeout(SUGGEST_TIMEOUT)
+                                .size(0)
+                                .trackTotalHits(t -> t.enabled(false))
+                                .source(src -> src.filter(f -> f.includes("id", "name")))
+                                .suggest(sg -> sg.suggesters(SUGGESTION, fs -> fs
+                                        .prefix(prefix)
+                                        .completion(c -> c
+                                                .field("suggest")
+                                                .size(size)
+                                                .skipDuplicates(true)))),
+                        RestaurantSuggestion.class);
+
+                return response.suggest().getOrDefault(SUGGESTION, List.of()).stream()
+                        .flatMap(suggestion -> suggestion.completion().options().stream())
+                        .map(option -> new RestaurantSuggestion(option.id(), option.source().getName()))
+                        .toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to fetch restaurant suggestions", e);
+            }
+        }, List::size);
+    }
+
+    @Override
+    public void applyRatingChange(String restaurantId, Integer removedRating, Integer addedRating) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("removed", removedRating == null ? 0 : removedRating);
+        params.put("added", addedRating == null ? 0 : addedRating);
+
+        UpdateQuery updateQuery = UpdateQuery.builder(restaurantId)
+                .withScript(APPLY_RATING_CHANGE_SCRIPT)
+                .withScriptType(ScriptType.INLINE)
+                .withLang("painless")
+                .withParams(params)
+                .withRetryOnConflict(RETRY_ON_CONFLICT)
+                .build();
+
+        elasticsearchOperations.update(updateQuery, elasticsearchOperations.getIndexCoordinatesFor(Restaurant.class));
+    }
+
+    @Override
+    public Map<String, VersionedRatingStats> findAllRatingStats() {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.matchAll(m -> m))
+                .withSourceFilter(new FetchSourceFilterBuilder()
+                        .withIncludes("ratingSum", "ratingCount", "ratingHistogram")
+                        .build())
+                .build();
+
+        Map<String, VersionedRatingStats> ratingStats = new HashMap<>();
+        try (SearchHitsIterator<Restaurant> hits = elasticsearchOperations.searchForStream(query, Restaurant.class)) {
+            hits.forEachRemaining(hit -> {
+                Restaurant restaurant = hit.getContent();
+
+                // Small counts may come back from the source as Integers despite the declared type
+                Map<String, Long> histogram = new HashMap<>();
+                if (restaurant.getRatingHistogram() != null) {
+                    ((Map<String, ?>) restaurant.getRatingHistogram())
+                            .forEach((rating, count) -> histogram.put(rating, ((Number) count).longValue()));
+                }
+
+                ratingStats.put(hit.getId(), new VersionedRatingStats(
+                        new RatingStats(
+                                restaurant.getRatingCount() == null ? 0 : restaurant.getRatingCount(),
+                                restaurant.getRatingSum() == null ? 0 : restaurant.getRatingSum(),
+                                histogram),
+                        restaurant.getSeqNoPrimaryTerm()));
+            });
+        }
+        return ratingStats;
+    }
+
+    @Override
+    public Optional<SeqNoPrimaryTerm> findSeqNoPrimaryTerm(String restaurantId) {
+        String index = elasticsearchOperations.getIndexCoordinatesFor(Restaurant.class).getIndexName();
+        try {
+            GetResponse<Void> response = elasticsearchClient.get(g -> g
+                            .index(index)
+                            .id(restaurantId)
+                            .source(src -> src.fetch(false)),
+                    Void.class);
+
+            return response.found()
+                    ? Optional.of(new SeqNoPrimaryTerm(response.seqNo(), response.primaryTerm()))
+                    : Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the version of restaurant " + restaurantId, e);
+        }
+    }
+
+    @Override
+    public Set<String> updateRatingStatsIfUnchanged(Map<String, VersionedRatingStats> ratingStatsByRestaurant) {
+        if (ratingStatsByRestaurant.isEmpty()) {
+            return Set.of();
+        }
+
+        // Sent with the typed client, which takes seq_no/primary_term as longs. retry_on_conflict
+        // cannot be combined with if_seq_no; a conflict means the stats were read stale
+        String index = elasticsearchOperations.getIndexCoordinatesFor(Restaurant.class).getIndexName();
+        List<BulkOperation> operations = ratingStatsByRestaurant.entrySet().stream()
+                .map(entry -> BulkOperation.of(op -> op.update(u -> u
+                        .index(index)
+                        .id(entry.getKey())
+                        .ifSeqNo(entry.getValue().getSeqNoPrimaryTerm().sequenceNumber())
+                        .ifPrimaryTerm(entry.getValue().getSeqNoPrimaryTerm().primaryTerm())
+                        .action(a -> a.script(setRatingStats(entry.getValue().getStats()))))))
+                .toList();
+
+        BulkResponse response;
+        try {
+            response = elasticsearchClient.bulk(b -> b.operations(operations));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to update restaurant rating stats", e);
+        }
+
+        Set<String> skipped = new HashSet<>();
+        Map<String, BulkFailureException.FailureDetails> failures = new HashMap<>();
+        for (BulkResponseItem item : response.items()) {
+            if (item.error() == null) {
+                continue;
+            }
+            if (item.status() == 409) {
+                skipped.add(item.id());
+            } else {
+                failures.put(item.id(), new BulkFailureException.FailureDetails(item.status(), item.error().reason()));
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new BulkFailureException("Failed to update rating stats of " + failures.keySet(), failures);
+        }
+        return skipped;
+    }
+
+    private Script setRatingStats(RatingStats ratingStats) {
+        Map<String, JsonData> params = new HashMap<>();
+        params.put("sum", JsonData.of(ratingStats.getSum()));
+        params.put("count", JsonData.of(ratingStats.getCount()));
+        params.put("histogram", JsonData.of(ratingStats.getHistogram()));
+
+        return Script.of(s -> s
+                .source(SET_RATING_STATS_SCRIPT)
+                .lang("painless")
+                .params(params));
+    }
+
+    private List<Restaurant> toRestaurants(RestaurantSearchCriteria criteria, SearchHits<Restaurant> searchHits) {
+        boolean sortedByDistance = restaurantSearchQueryBuilder.sortsByDistance(criteria);
+        return searchHits.getSearchHits().stream()
+                .map(hit -> {
+                    Restaurant restaurant = hit.getContent();
+                    if (sortedByDistance) {
+                        restaurant.setDistanceKm(((Number) hit.getSortValues().getFirst()).doubleValue());
+                    }
+                    return restaurant;
+                })
+                .toList();
+    }
+
+    private void closeQuietly(String pointInTimeId) {
+        try {
+            elasticsearchOperations.closePointInTime(pointInTimeId);
+        } catch (RuntimeException e) {
+            log.warn("Could not close point in time {}", pointInTimeId, e);
+        }
+    }
+}
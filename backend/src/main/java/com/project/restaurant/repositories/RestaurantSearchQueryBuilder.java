@@ -0,0 +1,148 @@
+package com.project.restaurant.repositories;
+
+import co.elastic.clients.elasticsearch._types.DistanceUnit;
+import co.elastic.clients.elasticsearch._types.GeoLocation;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.data.elasticsearch.core.query.Query.PointInTime;
+import org.springframework.data.elasticsearch.core.query.SourceFilter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the single restaurant search request: full-text relevance in {@code must},
+ * rating and distance as non-scoring (and therefore cacheable) {@code filter} clauses.
+ */
+@Component
+public class RestaurantSearchQueryBuilder {
+
+    // Search results only ever become RestaurantSummaryDto, so only fetch the fields it needs
+    static final String[] SUMMARY_FIELDS = {
+            "id", "name", "cuisineType", "averageRating", "totalReviews", "address", "photos"
+    };
+
+    private static final List<String> TEXT_FIELDS = List.of("name^2", "cuisineType");
+    private static final int MAX_QUERY_LENGTH = 256;
+
+    // The request-independent parts are built once and shared; only typed values are bound per call
+    private static final Query MATCH_ALL = Query.of(q -> q.matchAll(m -> m));
+    private static final SourceFilter SUMMARY_SOURCE = new FetchSourceFilterBuilder()
+            .withIncludes(SUMMARY_FIELDS)
+            .build();
+
+    public NativeQuery build(RestaurantSearchCriteria criteria, Pageable pageable) {
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(query(criteria))
+                .withSourceFilter(SUMMARY_SOURCE)
+                .withPageable(pageable);
+
+        if (sortsByDistance(criteria)) {
+            builder.withSort(s -> s.geoDistance(g -> g
+                    .field("geoLocation")
+                    .location(location(criteria))
+                    .unit(DistanceUnit.Kilometers)
+                    .order(SortOrder.Asc)));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * The same search as {@link #build}, as one page of a point-in-time snapshot. Hits are
+     * tiebroken on {@code _shard_doc}, which makes the sort values a usable {@code search_after}
+     * key; without text or distance that is the only sort, the cheapest one to resume from.
+     * No total is counted.
+     */
+    public NativeQuery buildScroll(RestaurantSearchCriteria criteria, int size, PointInTime pointInTime,
+                                   List<Object> searchAfter) {
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(query(criteria))
+                .withSourceFilter(SUMMARY_SOURCE)
+                .withPointInTime(pointInTime)
+                .withSearchAfter(searchAfter)
+                .withMaxResults(size)
+                .withTrackTotalHits(false);
+
+        if (sortsByDistance(criteria)) {
+            builder.withSort(s -> s.geoDistance(g -> g
+                    .field("geoLocation")
+                    .location(location(criteria))
+                    .unit(DistanceUnit.Kilometers)
+                    .order(SortOrder.Asc)));
+        } else if (criteria.hasQuery()) {
+            builder.withSort(s -> s.score(sc -> sc.order(SortOrder.Desc)));
+        }
+        builder.withSort(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc)));
+
+        return builder.build();
+    }
+
+    public boolean sortsByDistance(RestaurantSearchCriteria criteria) {
+        return criteria.isSortByDistance() && criteria.hasLocation();
+    }
+
+    // Low-cardinality label for metrics: which kinds of clause the query combines
+    public String queryType(RestaurantSearchCriteria criteria) {
+        List<String> parts = new ArrayList<>(3);
+        if (criteria.hasQuery()) {
+            parts.add("fuzzy");
+        }
+        if (criteria.hasGeoFilter() || sortsByDistance(criteria)) {
+            parts.add("geo");
+        }
+        if (criteria.getMinRating() != null) {
+            parts.add("rating");
+        }
+        return parts.isEmpty() ? "findAll" : String.join("+", parts);
+    }
+
+    private Query query(RestaurantSearchCriteria criteria) {
+        if (!criteria.hasQuery() && criteria.getMinRating() == null && !criteria.hasGeoFilter()) {
+            return MATCH_ALL;
+        }
+
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+
+        if (criteria.hasQuery()) {
+            String text = criteria.getQuery().trim();
+            String boundedText = text.length() > MAX_QUERY_LENGTH ? text.substring(0, MAX_QUERY_LENGTH) : text;
+            // multi_match analyzes the input like the indexed text; prefix_length and max_expansions
+            // keep fuzzy expansion from walking the whole term dictionary
+            bool.must(m -> m.multiMatch(mm -> mm
+                    .query(boundedText)
+                    .fields(TEXT_FIELDS)
+                    .fuzziness("AUTO")
+                    .prefixLength(1)
+                    .maxExpansions(50)));
+        }
+
+        if (criteria.getMinRating() != null) {
+            bool.filter(f -> f.range(r -> r.number(n -> n
+                    .field("averageRating")
+                    .gte(criteria.getMinRating().doubleValue()))));
+        }
+
+        if (criteria.hasGeoFilter()) {
+            bool.filter(f -> f.geoDistance(g -> g
+                    .field("geoLocation")
+                    .distance(criteria.getRadiusKm() + "km")
+                    .location(location(criteria))));
+        }
+
+        return Query.of(q -> q.bool(bool.build()));
+    }
+
+    private GeoLocation location(RestaurantSearchCriteria criteria) {
+        return GeoLocation.of(l -> l.latlon(ll -> ll
+                .lat(criteria.getLatitude())
+                .lon(criteria.getLongitude())));
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.restaurant.repositories;
+
+import com.project.restaurant.domain.entities.Review;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReviewRepository extends ElasticsearchRepository<Review, String>, ReviewRepositoryCustom {
+
+    Page<Review> findByRestaurantId(String restaurantId, Pageable pageable);
+
+    Page<Review> findByWrittenById(String userId, Pageable pageable);
+
+    void deleteByRestaurantId(String restaurantId);
+}
@@ -0,0 +1,32 @@
+package com.project.restaurant.repositories;
+
+import com.project.restaurant.domain.CursorPage;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.entities.Review;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ReviewRepositoryCustom {
+
+    /**
+     * Indexes the review only if no document with its id exists yet.
+     *
+     * @throws com.project.restaurant.exceptions.ReviewAlreadyExistsException if one does
+     */
+    Review create(Review review);
+
+    /**
+     * Bulk counterpart of {@link #create} that waits for the reviews to become searchable. Reviews
+     * whose id is already taken are skipped rather than overwritten, so a replayed batch cannot
+     * undo later edits.
+     */
+    void createAll(List<Review> reviews);
+
+    Map<String, RatingStats> ratingStatsByRestaurant();
+
+    RatingStats ratingStatsForRestaurant(String restaurantId);
+
+    CursorPage<Review> scrollByRestaurantId(String restaurantId, Sort sort, int size, String cursor);
+}
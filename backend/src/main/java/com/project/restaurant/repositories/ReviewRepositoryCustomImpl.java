@@ -0,0 +1,173 @@
+package com.project.restaurant.repositories;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StatsAggregate;
+import com.project.restaurant.domain.CursorPage;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.exceptions.ReviewAlreadyExistsException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.BulkOptions;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ReviewRepositoryCustomImpl implements ReviewRepositoryCustom {
+
+    private static final String BY_RESTAURANT = "byRestaurant";
+    private static final String RATING_STATS = "ratingStats";
+    private static final String RATING_HISTOGRAM = "ratingHistogram";
+    private static final int COMPOSITE_PAGE_SIZE = 1000;
+    private static final int CONFLICT = 409;
+
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    // op_type=create makes the uniqueness check and the write a single request
+    @Override
+    public Review create(Review review) {
+        try {
+            elasticsearchOperations.index(createQuery(review), elasticsearchOperations.getIndexCoordinatesFor(Review.class));
+        } catch (UncategorizedElasticsearchException e) {
+            if (Integer.valueOf(CONFLICT).equals(e.getStatusCode())) {
+                throw new ReviewAlreadyExistsException("Review already exists: " + review.getId(), e);
+            }
+            throw e;
+        }
+
+        return review;
+    }
+
+    @Override
+    public void createAll(List<Review> reviews) {
+        if (reviews.isEmpty()) {
+            return;
+        }
+
+        BulkOptions bulkOptions = BulkOptions.builder()
+                .withRefreshPolicy(RefreshPolicy.WAIT_UNTIL)
+                .build();
+        try {
+            elasticsearchOperations.bulkIndex(reviews.stream().map(this::createQuery).toList(), bulkOptions, Review.class);
+        } catch (BulkFailureException e) {
+            boolean onlyExisting = e.getFailedDocuments().values().stream()
+                    .allMatch(failure -> Integer.valueOf(CONFLICT).equals(failure.status()));
+            if (!onlyExisting) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public Map<String, RatingStats> ratingStatsByRestaurant() {
+        Map<String, RatingStats> ratingStats = new HashMap<>();
+        Map<String, FieldValue> afterKey = null;
+
+        do {
+            Map<String, FieldValue> after = afterKey;
+            NativeQuery query = NativeQuery.builder()
+                    .withQuery(q -> q.matchAll(m -> m))
+                    .withAggregation(BY_RESTAURANT, Aggregation.of(a -> a
+                            .composite(c -> {
+                                c.size(COMPOSITE_PAGE_SIZE)
+                                        .sources(Map.of("restaurantId", CompositeAggregationSource.of(s -> s
+                                                .terms(t -> t.field("restaurantId")))));
+                                if (after != null) {
+                                    c.after(after);
+                                }
+                                return c;
+                            })
+                            .aggregations(RATING_STATS, Aggregation.of(sub -> sub.stats(s -> s.field("rating"))))
+                            .aggregations(RATING_HISTOGRAM, Aggregation.of(sub -> sub.terms(t -> t.field("rating").size(5))))))
+                    .withMaxResults(0)
+                    .build();
+
+            SearchHits<Review> searchHits = elasticsearchOperations.search(query, Review.class);
+            ElasticsearchAggregations aggregations = (ElasticsearchAggregations) searchHits.getAggregations();
+            CompositeAggregate byRestaurant = aggregations.aggregationsAsMap()
+                    .get(BY_RESTAURANT)
+                    .aggregation()
+                    .getAggregate()
+                    .composite();
+
+            for (CompositeBucket bucket : byRestaurant.buckets().array()) {
+                ratingStats.put(
+                        bucket.key().get("restaurantId").stringValue(),
+                        toRatingStats(bucket.aggregations().get(RATING_STATS), bucket.aggregations().get(RATING_HISTOGRAM)));
+            }
+
+            afterKey = byRestaurant.afterKey();
+        } while (afterKey != null && !afterKey.isEmpty());
+
+        return ratingStats;
+    }
+
+    @Override
+    public RatingStats ratingStatsForRestaurant(String restaurantId) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.term(t -> t.field("restaurantId").value(restaurantId)))
+                .withAggregation(RATING_STATS, Aggregation.of(a -> a.stats(s -> s.field("rating"))))
+                .withAggregation(RATING_HISTOGRAM, Aggregation.of(a -> a.terms(t -> t.field("rating").size(5))))
+                .withMaxResults(0)
+                .build();
+
+        SearchHits<Review> searchHits = elasticsearchOperations.search(query, Review.class);
+        ElasticsearchAggregations aggregations = (ElasticsearchAggregations) searchHits.getAggregations();
+        return toRatingStats(
+                aggregations.aggregationsAsMap().get(RATING_STATS).aggregation().getAggregate(),
+                aggregations.aggregationsAsMap().get(RATING_HISTOGRAM).aggregation().getAggregate());
+    }
+
+    @Override
+    public CursorPage<Review> scrollByRestaurantId(String restaurantId, Sort sort, int size, String cursor) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.term(t -> t.field("restaurantId").value(restaurantId)))
+                .withSort(sort)
+                .withSearchAfter(SearchAfterCursor.decode(cursor))
+                .withMaxResults(size)
+                .withTrackTotalHits(false)
+                .build();
+
+        List<SearchHit<Review>> hits = elasticsearchOperations.search(query, Review.class).getSearchHits();
+
+        String nextCursor = hits.size() < size
+                ? null
+                : SearchAfterCursor.encode(hits.getLast().getSortValues());
+
+        return new CursorPage<>(hits.stream().map(SearchHit::getContent).toList(), nextCursor);
+    }
+
+    private RatingStats toRatingStats(Aggregate statsAggregate, Aggregate histogramAggregate) {
+        StatsAggregate stats = statsAggregate.stats();
+        Map<String, Long> histogram = new HashMap<>();
+        histogramAggregate.lterms().buckets().array()
+                .forEach(ratingBucket -> histogram.put(String.valueOf(ratingBucket.key()), ratingBucket.docCount()));
+
+        return new RatingStats(stats.count(), Math.round(stats.sum()), histogram);
+    }
+
+    private IndexQuery createQuery(Review review) {
+        return new IndexQueryBuilder()
+                .withId(review.getId())
+                .withObject(review)
+                .withOpType(IndexQuery.OpType.CREATE)
+                .build();
+    }
+}
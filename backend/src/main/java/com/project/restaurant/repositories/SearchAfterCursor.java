@@ -0,0 +1,45 @@
+package com.project.restaurant.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes the sort values of the last hit of a page into an opaque, URL-safe cursor
+ * that can be handed back to Elasticsearch as {@code search_after}.
+ */
+public final class SearchAfterCursor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Object>> SORT_VALUES = new TypeReference<>() {
+    };
+
+    private SearchAfterCursor() {
+    }
+
+    public static String encode(List<Object> sortValues) {
+        try {
+            byte[] json = OBJECT_MAPPER.writeValueAsBytes(sortValues);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    public static List<Object> decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            return OBJECT_MAPPER.readValue(new String(json, StandardCharsets.UTF_8), SORT_VALUES);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
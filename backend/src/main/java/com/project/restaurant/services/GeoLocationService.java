@@ -3,6 +3,28 @@ package com.project.restaurant.services;
 import com.project.restaurant.domain.GeoLocation;
 import com.project.restaurant.domain.entities.Address;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public interface GeoLocationService {
     GeoLocation geoLocate(Address address);
+
+    /**
+     * Geocodes several addresses at once. Geocoders with a batch API should override this;
+     * the default falls back to one lookup per address.
+     */
+    default Map<Address, GeoLocation> geoLocateAll(Collection<Address> addresses) {
+        Map<Address, GeoLocation> locations = new LinkedHashMap<>();
+        addresses.forEach(address -> locations.computeIfAbsent(address, this::geoLocate));
+        return locations;
+    }
+
+    /**
+     * Whether {@link #geoLocateAll} resolves several addresses in one call. Only such geocoders
+     * are worth putting behind a {@code BatchingGeoLocationService}.
+     */
+    default boolean supportsBatch() {
+        return false;
+    }
 }
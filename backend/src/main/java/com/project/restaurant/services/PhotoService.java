@@ -1,14 +1,23 @@
 package com.project.restaurant.services;
 
+import com.project.restaurant.domain.PhotoVariant;
+import com.project.restaurant.domain.StoredFile;
 import com.project.restaurant.domain.entities.Photo;
-import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.Optional;
 
 public interface PhotoService {
 
     Photo uploadPhoto(MultipartFile file);
 
-    Optional<Resource> getPhotoAsResources(String id);
+    Photo uploadPhoto(InputStream content, String contentType, long contentLength);
+
+    Optional<StoredFile> getPhotoFile(String id);
+
+    Optional<StoredFile> getPhotoFile(String id, PhotoVariant variant);
+
+    Optional<URI> getDownloadUrl(StoredFile file);
 }
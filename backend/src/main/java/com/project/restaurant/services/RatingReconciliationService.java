@@ -0,0 +1,8 @@
+package com.project.restaurant.services;
+
+import com.project.restaurant.domain.RatingReconciliationReport;
+
+public interface RatingReconciliationService {
+
+    RatingReconciliationReport reconcileRatings();
+}
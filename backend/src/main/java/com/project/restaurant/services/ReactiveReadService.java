@@ -0,0 +1,20 @@
+package com.project.restaurant.services;
+
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.domain.entities.Review;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveReadService {
+
+    Mono<Page<Restaurant>> searchRestaurants(RestaurantSearchCriteria criteria, Pageable pageable);
+
+    Flux<Restaurant> streamRestaurants(RestaurantSearchCriteria criteria, int limit);
+
+    Mono<Restaurant> getRestaurant(String id);
+
+    Mono<Page<Review>> listRestaurantReviews(String restaurantId, Pageable pageable);
+}
@@ -0,0 +1,10 @@
+package com.project.restaurant.services;
+
+import com.project.restaurant.domain.RestaurantDetails;
+
+import java.util.Optional;
+
+public interface RestaurantDetailsService {
+
+    Optional<RestaurantDetails> getRestaurantDetails(String id);
+}
@@ -0,0 +1,11 @@
+package com.project.restaurant.services;
+
+import com.project.restaurant.domain.RestaurantImportResult;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+public interface RestaurantImportService {
+
+    void importRestaurants(InputStream ndjson, Consumer<RestaurantImportResult> resultConsumer);
+}
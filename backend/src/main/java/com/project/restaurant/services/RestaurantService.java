@@ -1,24 +1,32 @@
 package com.project.restaurant.services;
 
+import com.project.restaurant.domain.CursorPage;
+import com.project.restaurant.domain.RestaurantCreateResult;
 import com.project.restaurant.domain.RestaurantCreateUpdateRequest;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.RestaurantSuggestion;
 import com.project.restaurant.domain.entities.Restaurant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RestaurantService {
 
     Restaurant createRestaurant(RestaurantCreateUpdateRequest request);
 
-    Page<Restaurant> searchRestaurants(
-            String query,
-            Float minRating,
-            Float latitude,
-            Float longitude,
-            Float radius,
-            Pageable pageable
-    );
+    /**
+     * Creates the restaurants with one bulk write. A request that cannot be geocoded or indexed
+     * fails on its own; the results are in request order.
+     */
+    List<RestaurantCreateResult> createRestaurants(List<RestaurantCreateUpdateRequest> requests);
+
+    Page<Restaurant> searchRestaurants(RestaurantSearchCriteria criteria, Pageable pageable);
+
+    CursorPage<Restaurant> scrollRestaurants(RestaurantSearchCriteria criteria, int size, String cursor);
+
+    List<RestaurantSuggestion> suggestRestaurants(String prefix, int size);
 
     Optional<Restaurant> getRestaurant(String id);
 
@@ -1,10 +1,12 @@
 package com.project.restaurant.services;
 
+import com.project.restaurant.domain.CursorPage;
 import com.project.restaurant.domain.ReviewCreateUpdateRequest;
 import com.project.restaurant.domain.entities.Review;
 import com.project.restaurant.domain.entities.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.Optional;
 
@@ -13,6 +15,10 @@ public interface ReviewService {
 
     Page<Review> listRestaurantReviews(String restaurantId, Pageable pageable);
 
+    Page<Review> listUserReviews(String userId, Pageable pageable);
+
+    CursorPage<Review> scrollRestaurantReviews(String restaurantId, Sort sort, int size, String cursor);
+
     Optional<Review> getRestaurantReview(String restaurantId, String reviewId);
 
     Review updateReview(User user, String restaurantId, String reviewId, ReviewCreateUpdateRequest request);
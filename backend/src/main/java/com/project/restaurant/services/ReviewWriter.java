@@ -0,0 +1,16 @@
+package com.project.restaurant.services;
+
+import com.project.restaurant.domain.entities.Review;
+
+/**
+ * Persists a newly created, already validated review and folds its rating into the restaurant's
+ * aggregate. Selected with {@code app.reviews.ingestion.mode}.
+ */
+public interface ReviewWriter {
+
+    /**
+     * @throws com.project.restaurant.exceptions.ReviewAlreadyExistsException if a review with the
+     *         same id is stored or still pending
+     */
+    Review create(Review review);
+}
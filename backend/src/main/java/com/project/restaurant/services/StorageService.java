@@ -1,12 +1,29 @@
 package com.project.restaurant.services;
 
-import org.springframework.core.io.Resource;
-import org.springframework.web.multipart.MultipartFile;
+import com.project.restaurant.domain.StoredFile;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.Optional;
 
 public interface StorageService {
-    String store(MultipartFile file, String filename);
+    /**
+     * Streams the content into storage under a name derived from its SHA-256 hash.
+     * Content that is already stored is not written again and resolves to the existing name.
+     */
+    String store(InputStream content, String extension, long maxSize);
 
-    Optional<Resource> loadAsResource(String filename);
+    void write(String filename, byte[] content);
+
+    Optional<StoredFile> load(String filename);
+
+    InputStream open(String filename);
+
+    /**
+     * A short-lived URL clients can download the file from directly, for backends that
+     * can serve bytes without going through this application.
+     */
+    default Optional<URI> downloadUrl(String filename) {
+        return Optional.empty();
+    }
 }
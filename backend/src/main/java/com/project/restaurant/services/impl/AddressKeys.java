@@ -0,0 +1,35 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.domain.entities.Address;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Normalizes addresses so that spelling-insensitive variants of the same address
+ * ("10  Downing St " vs "10 downing st") share one geocoding result.
+ */
+final class AddressKeys {
+
+    private AddressKeys() {
+    }
+
+    static String normalize(Address address) {
+        return Stream.of(
+                        address.getStreetNumber(),
+                        address.getStreetName(),
+                        address.getUnit(),
+                        address.getCity(),
+                        address.getState(),
+                        address.getPostalCode(),
+                        address.getCountry())
+                .map(part -> part == null ? "" : part.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining("|"));
+    }
+
+    static boolean sameLocation(Address first, Address second) {
+        return first != null && second != null && Objects.equals(normalize(first), normalize(second));
+    }
+}
@@ -0,0 +1,177 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.domain.GeoLocation;
+import com.project.restaurant.domain.entities.Address;
+import com.project.restaurant.services.GeoLocationService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent lookups into batch calls on another {@link GeoLocationService}.
+ * A dispatcher thread collects requests for up to {@code maxWait} or until {@code maxBatchSize}
+ * addresses are pending, then hands them to {@code executor} as one
+ * {@link GeoLocationService#geoLocateAll} call, so several batches can be in flight at once.
+ * A lookup that arrives while nothing else is pending is sent right away instead of waiting
+ * for company. Identical addresses in a batch are looked up once.
+ * <p>
+ * Only useful in front of a geocoder that {@linkplain GeoLocationService#supportsBatch() supports batches}.
+ */
+@Slf4j
+public class BatchingGeoLocationService implements GeoLocationService, AutoCloseable {
+
+    private final GeoLocationService delegate;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingLookup> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+
+    private volatile boolean running = true;
+
+    public BatchingGeoLocationService(
+            GeoLocationService delegate, Executor executor, int maxBatchSize, Duration maxWait) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.dispatcher = new Thread(this::dispatchLoop, "geocoding-batcher");
+        this.dispatcher.setDaemon(true);
+    }
+
+    public void start() {
+        dispatcher.start();
+    }
+
+    @Override
+    public GeoLocation geoLocate(Address address) {
+        return await(submit(address));
+    }
+
+    /**
+     * The addresses already form a batch, so they bypass the queue and are resolved on the
+     * calling thread in chunks of {@code maxBatchSize}.
+     */
+    @Override
+    public Map<Address, GeoLocation> geoLocateAll(Collection<Address> addresses) {
+        Map<Address, PendingLookup> lookups = new LinkedHashMap<>();
+        addresses.forEach(address -> lookups.computeIfAbsent(
+                address, key -> new PendingLookup(key, new CompletableFuture<>())));
+
+        List<PendingLookup> pending = List.copyOf(lookups.values());
+        for (int from = 0; from < pending.size(); from += maxBatchSize) {
+            dispatch(pending.subList(from, Math.min(from + maxBatchSize, pending.size())));
+        }
+
+        Map<Address, GeoLocation> locations = new LinkedHashMap<>();
+        lookups.forEach((address, lookup) -> locations.put(address, await(lookup.result())));
+        return locations;
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        List<PendingLookup> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(lookup -> lookup.result().completeExceptionally(
+                new IllegalStateException("Geocoding batcher is shutting down")));
+    }
+
+    private CompletableFuture<GeoLocation> submit(Address address) {
+        if (!running) {
+            throw new IllegalStateException("Geocoding batcher is shutting down");
+        }
+        PendingLookup lookup = new PendingLookup(address, new CompletableFuture<>());
+        queue.add(lookup);
+        return lookup.result();
+    }
+
+    private GeoLocation await(CompletableFuture<GeoLocation> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                List<PendingLookup> batch = new ArrayList<>();
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+
+                // Only wait for more when lookups are already arriving together; a lone one goes now
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() > 1 && batch.size() < maxBatchSize) {
+                    PendingLookup next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                submitBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void submitBatch(List<PendingLookup> batch) {
+        try {
+            executor.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+        }
+    }
+
+    private void dispatch(List<PendingLookup> batch) {
+        Map<String, Address> distinct = new LinkedHashMap<>();
+        batch.forEach(lookup -> distinct.putIfAbsent(AddressKeys.normalize(lookup.address()), lookup.address()));
+
+        try {
+            Map<Address, GeoLocation> located = delegate.geoLocateAll(distinct.values());
+            Map<String, GeoLocation> byKey = new LinkedHashMap<>();
+            located.forEach((address, location) -> byKey.put(AddressKeys.normalize(address), location));
+
+            batch.forEach(lookup -> {
+                GeoLocation location = byKey.get(AddressKeys.normalize(lookup.address()));
+                if (location != null) {
+                    lookup.result().complete(location);
+                } else {
+                    lookup.result().completeExceptionally(
+                            new IllegalStateException("Geocoder returned no location for address"));
+                }
+            });
+            log.debug("Geocoded {} lookups with {} distinct addresses", batch.size(), distinct.size());
+        } catch (RuntimeException e) {
+            batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+        }
+    }
+
+    private record PendingLookup(Address address, CompletableFuture<GeoLocation> result) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.restaurant.services.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.domain.GeoLocation;
+import com.project.restaurant.domain.entities.Address;
+import com.project.restaurant.services.GeoLocationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches geocoding results by normalized address in front of another {@link GeoLocationService}.
+ * When a snapshot path is configured the cache is restored from it on startup and written back
+ * periodically and on shutdown, so a restart does not send every known address to the geocoder again.
+ */
+@Slf4j
+public class CachingGeoLocationService implements GeoLocationService {
+
+    private final GeoLocationService delegate;
+    private final CaffeineCache cache;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotPath;
+
+    public CachingGeoLocationService(GeoLocationService delegate,
+                                     CaffeineCache cache,
+                                     ObjectMapper objectMapper,
+                                     String snapshotPath) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.snapshotPath = StringUtils.hasText(snapshotPath) ? Path.of(snapshotPath) : null;
+    }
+
+    @Override
+    public GeoLocation geoLocate(Address address) {
+        return cache.get(AddressKeys.normalize(address), () -> delegate.geoLocate(address));
+    }
+
+    @Override
+    public Map<Address, GeoLocation> geoLocateAll(Collection<Address> addresses) {
+        Map<Address, GeoLocation> locations = new LinkedHashMap<>();
+        List<Address> misses = addresses.stream()
+                .filter(address -> {
+                    GeoLocation cached = cache.get(AddressKeys.normalize(address), GeoLocation.class);
+                    if (cached != null) {
+                        locations.put(address, cached);
+                    }
+                    return cached == null;
+                })
+                .toList();
+
+        if (!misses.isEmpty()) {
+            delegate.geoLocateAll(misses).forEach((address, location) -> {
+                cache.put(AddressKeys.normalize(address), location);
+                locations.put(address, location);
+            });
+        }
+        return locations;
+    }
+
+    public void restoreSnapshot() {
+        if (snapshotPath == null || !Files.exists(snapshotPath)) {
+            return;
+        }
+
+        try {
+            Map<String, GeoLocation> snapshot = objectMapper.readValue(
+                    snapshotPath.toFile(), new TypeReference<Map<String, GeoLocation>>() {
+                    });
+            snapshot.forEach(cache::put);
+            log.info("Restored {} geocoding results from {}", snapshot.size(), snapshotPath);
+        } catch (IOException e) {
+            // A corrupt snapshot only costs cache warmth
+            log.warn("Could not restore geocoding snapshot from {}", snapshotPath, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.geocoding.cache.snapshot-interval:PT10M}",
+            initialDelayString = "${app.geocoding.cache.snapshot-interval:PT10M}")
+    public void writeSnapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+
+        Map<String, GeoLocation> snapshot = new HashMap<>();
+        cache.getNativeCache().asMap().forEach((key, value) -> {
+            if (value instanceof GeoLocation location) {
+                snapshot.put(key.toString(), location);
+            }
+        });
+
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, ".geocodes-", ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), snapshot);
+            Files.move(tempFile, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} geocoding results to {}", snapshot.size(), snapshotPath);
+        } catch (IOException e) {
+            log.warn("Could not write geocoding snapshot to {}", snapshotPath, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.exceptions.PhotoTooLargeException;
+import com.project.restaurant.exceptions.StorageException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Copies an upload into a temp file while computing its SHA-256, so storage backends can
+ * address content by hash after a single pass over the bytes.
+ */
+@Slf4j
+final class ContentHashingSpool {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ContentHashingSpool() {
+    }
+
+    static SpooledUpload spool(InputStream content, Path directory, long maxSize) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(directory, ".upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new PhotoTooLargeException("Upload exceeds the maximum size of " + maxSize + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            if (size == 0) {
+                throw new StorageException("Failed to store empty file");
+            }
+
+            SpooledUpload upload = new SpooledUpload(tempFile, HexFormat.of().formatHex(digest.digest()), size);
+            tempFile = null;
+            return upload;
+
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary file {}", file, e);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class SpooledUpload {
+        private final Path file;
+        private final String sha256;
+        private final long size;
+    }
+}
@@ -0,0 +1,32 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
+import com.project.restaurant.services.ReviewWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores each review as it is posted and applies its rating to the restaurant straight away.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.reviews.ingestion.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectReviewWriter implements ReviewWriter {
+
+    private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+    private final RestaurantWriteRetrier restaurantWriteRetrier;
+
+    @Override
+    public Review create(Review review) {
+        Review savedReview = reviewRepository.create(review);
+
+        restaurantWriteRetrier.execute("rating", savedReview.getRestaurantId(), () ->
+                restaurantRepository.applyRatingChange(savedReview.getRestaurantId(), null, savedReview.getRating()));
+
+        return savedReview;
+    }
+}
@@ -1,27 +1,29 @@
 package com.project.restaurant.services.impl;
 
+import com.project.restaurant.config.CacheConfig;
+import com.project.restaurant.domain.StoredFile;
 import com.project.restaurant.exceptions.StorageException;
 import com.project.restaurant.services.StorageService;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Optional;
 
 @Service
 @Slf4j
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "filesystem", matchIfMissing = true)
 public class FileSystemStorageService implements StorageService {
 
     @Value("${app.storage.location:uploads}")
@@ -31,7 +33,7 @@ public class FileSystemStorageService implements StorageService {
 
     @PostConstruct
     public void init() {
-        rootLocation = Paths.get(storageLocation);
+        rootLocation = Paths.get(storageLocation).toAbsolutePath().normalize();
         try {
             Files.createDirectories(rootLocation);
         } catch (IOException e) {
@@ -41,48 +43,99 @@ public class FileSystemStorageService implements StorageService {
     }
 
     @Override
-    public String store(MultipartFile file, String filename) {
+    public String store(InputStream content, String extension, long maxSize) {
+        ContentHashingSpool.SpooledUpload upload = ContentHashingSpool.spool(content, rootLocation, maxSize);
         try {
-            if (file.isEmpty()) {
-                throw new StorageException("Failed to store empty file");
-            }
-
-            String extension = StringUtils.getFilenameExtension(file.getOriginalFilename());
-            String finalFileName = filename + "." + extension;
-
-            Path destinationFile = this.rootLocation.resolve(Paths.get(finalFileName))
-                    .normalize().toAbsolutePath();
-
-            if (!destinationFile.getParent().equals(this.rootLocation.toAbsolutePath())) {
-                throw new StorageException("Cannot store file outside current directory");
-            }
+            String finalFileName = upload.getSha256() + "." + extension;
 
-            try (InputStream inputStream = file.getInputStream()) {
-                Files.copy(inputStream, destinationFile, StandardCopyOption.REPLACE_EXISTING);
+            if (find(finalFileName).isPresent()) {
+                log.debug("Upload matches existing file {}", finalFileName);
+                return finalFileName;
             }
 
+            Path destinationFile = resolve(finalFileName);
+            Files.createDirectories(destinationFile.getParent());
+            // Concurrent uploads of the same bytes may both get here; the rename replaces identical content
+            Files.move(upload.getFile(), destinationFile, StandardCopyOption.ATOMIC_MOVE);
             return finalFileName;
 
         } catch (IOException e) {
             throw new StorageException("Failed to store file", e);
+        } finally {
+            ContentHashingSpool.deleteQuietly(upload.getFile());
+        }
+    }
+
+    @Override
+    public void write(String filename, byte[] content) {
+        Path destinationFile = resolve(filename);
+
+        try {
+            Files.createDirectories(destinationFile.getParent());
+            Path tempFile = Files.createTempFile(rootLocation, ".variant-", ".tmp");
+            Files.write(tempFile, content);
+            // Readers only ever see a complete file
+            Files.move(tempFile, destinationFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new StorageException("Failed to store file", e);
+        }
+    }
+
+    // Stored files are never rewritten, so their metadata can be cached instead of stat'ing on every request
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PHOTO_FILES, key = "#filename", unless = "#result == null")
+    public Optional<StoredFile> load(String filename) {
+        try {
+            return find(filename);
+        } catch (StorageException e) {
+            return Optional.empty();
         }
     }
 
     @Override
-    public Optional<Resource> loadAsResource(String filename) {
+    public InputStream open(String filename) {
+        StoredFile file = find(filename)
+                .orElseThrow(() -> new StorageException("File not found: " + filename));
         try {
-            Path file = rootLocation.resolve(filename);
-            Resource resource = new UrlResource(file.toUri());
+            return Files.newInputStream(file.getPath());
+        } catch (IOException e) {
+            throw new StorageException("Failed to read file", e);
+        }
+    }
+
+    // Files written before the sharded layout still sit directly in the root
+    private Optional<StoredFile> find(String filename) {
+        Optional<StoredFile> sharded = readMetadata(filename, resolve(filename));
+        return sharded.isPresent() ? sharded : readMetadata(filename, resolveLegacy(filename));
+    }
 
-            if (resource.exists() || resource.isReadable()) {
-                return Optional.of(resource);
-            } else {
+    private Optional<StoredFile> readMetadata(String filename, Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
                 return Optional.empty();
             }
-        } catch (MalformedURLException e) {
+
+            return Optional.of(StoredFile.builder()
+                    .filename(filename)
+                    .path(file)
+                    .contentLength(attributes.size())
+                    .lastModified(attributes.lastModifiedTime().toMillis())
+                    .build());
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
             log.debug("Could not read file: {}", filename, e);
             return Optional.empty();
         }
-        
+    }
+
+    private Path resolve(String filename) {
+        return rootLocation.resolve(StorageLayout.shardedKey(filename));
+    }
+
+    private Path resolveLegacy(String filename) {
+        StorageLayout.validate(filename);
+        return rootLocation.resolve(filename);
     }
 }
@@ -1,28 +1,76 @@
 package com.project.restaurant.services.impl;
 
+import com.project.restaurant.domain.PhotoVariant;
+import com.project.restaurant.domain.StoredFile;
 import com.project.restaurant.domain.entities.Photo;
+import com.project.restaurant.exceptions.PhotoTooLargeException;
+import com.project.restaurant.exceptions.StorageException;
 import com.project.restaurant.services.PhotoService;
 import com.project.restaurant.services.StorageService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class PhotoServiceImpl implements PhotoService {
 
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp");
+
     private final StorageService storageService;
+    private final PhotoVariantGenerator photoVariantGenerator;
+
+    @Value("${app.photos.max-size:10MB}")
+    private DataSize maxSize;
 
     @Override
     public Photo uploadPhoto(MultipartFile file) {
-        String photoId = UUID.randomUUID().toString();
+        try (InputStream content = file.getInputStream()) {
+            return uploadPhoto(content, file.getContentType(), file.getOriginalFilename(), file.getSize());
+        } catch (IOException e) {
+            throw new StorageException("Failed to read uploaded file", e);
+        }
+    }
 
-        String url = storageService.store(file, photoId);
+    @Override
+    public Photo uploadPhoto(InputStream content, String contentType, long contentLength) {
+        return uploadPhoto(content, contentType, null, contentLength);
+    }
+
+    private Photo uploadPhoto(InputStream content, String contentType, String originalFilename, long contentLength) {
+        // Reject declared oversize uploads before reading a byte; the store enforces the limit for undeclared ones
+        if (contentLength > maxSize.toBytes()) {
+            throw new PhotoTooLargeException("Upload of " + contentLength + " bytes exceeds the maximum size");
+        }
+
+        String url = storageService.store(content, extensionFor(contentType, originalFilename), maxSize.toBytes());
+
+        // Re-uploads of stored content already have their variants
+        if (storageService.load(PhotoVariant.THUMB.filenameFor(url)).isEmpty()) {
+            try {
+                photoVariantGenerator.generateVariants(url);
+            } catch (TaskRejectedException e) {
+                // The original is still served for every size until variants exist
+                log.warn("Variant generation queue is full, skipping variants for photo {}", url);
+            }
+        }
 
         Photo photo = new Photo();
         photo.setUrl(url);
@@ -31,8 +79,33 @@ public class PhotoServiceImpl implements PhotoService {
     }
 
     @Override
-    public Optional<Resource> getPhotoAsResources(String id) {
-        return storageService.loadAsResource(id);
+    public Optional<StoredFile> getPhotoFile(String id) {
+        return storageService.load(id);
+    }
+
+    @Override
+    public Optional<StoredFile> getPhotoFile(String id, PhotoVariant variant) {
+        return storageService.load(variant.filenameFor(id));
+    }
+
+    @Override
+    public Optional<URI> getDownloadUrl(StoredFile file) {
+        return storageService.downloadUrl(file.getFilename());
+    }
+
+    private String extensionFor(String contentType, String originalFilename) {
+        if (contentType != null) {
+            String mimeType = contentType.split(";")[0].trim().toLowerCase();
+            if (EXTENSIONS.containsKey(mimeType)) {
+                return EXTENSIONS.get(mimeType);
+            }
+        }
+
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        if (extension != null && extension.matches("[A-Za-z0-9]{1,5}")) {
+            return extension.toLowerCase();
+        }
+        return "bin";
     }
 
 }
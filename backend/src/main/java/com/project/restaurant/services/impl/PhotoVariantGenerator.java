@@ -0,0 +1,147 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.domain.PhotoVariant;
+import com.project.restaurant.exceptions.StorageException;
+import com.project.restaurant.services.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PhotoVariantGenerator {
+
+    private static final float JPEG_QUALITY = 0.82f;
+    private static final int LARGEST_VARIANT = Arrays.stream(PhotoVariant.values())
+            .mapToInt(PhotoVariant::getMaxDimension)
+            .max()
+            .orElseThrow();
+
+    private final StorageService storageService;
+
+    @Value("${app.photos.variants.max-megapixels:50}")
+    private long maxMegapixels;
+
+    @Async("photoVariantExecutor")
+    public void generateVariants(String filename) {
+        try {
+            BufferedImage image;
+            try (InputStream inputStream = storageService.open(filename);
+                 ImageInputStream imageInput = ImageIO.createImageInputStream(inputStream)) {
+                image = decode(filename, imageInput);
+            }
+
+            if (image == null) {
+                return;
+            }
+
+            for (PhotoVariant variant : PhotoVariant.values()) {
+                storageService.write(variant.filenameFor(filename), toJpeg(resize(image, variant.getMaxDimension())));
+            }
+        } catch (IOException | StorageException e) {
+            log.error("Failed to generate variants for photo {}", filename, e);
+        }
+    }
+
+    /**
+     * Checks the dimensions in the header before decoding, so a small file that expands to a huge
+     * bitmap is skipped, and decodes large images subsampled to no less than the largest variant.
+     */
+    private BufferedImage decode(String filename, ImageInputStream imageInput) throws IOException {
+        Iterator<ImageReader> readers = imageInput == null ? null : ImageIO.getImageReaders(imageInput);
+        if (readers == null || !readers.hasNext()) {
+            log.warn("Cannot generate variants, photo {} is not a readable image", filename);
+            return null;
+        }
+
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(imageInput, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > maxMegapixels * 1_000_000) {
+                log.warn("Cannot generate variants, photo {} is {}x{} pixels, more than {} megapixels",
+                        filename, width, height, maxMegapixels);
+                return null;
+            }
+
+            int subsampling = Math.max(1, Math.max(width, height) / LARGEST_VARIANT);
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    // Halving repeatedly before the final bilinear pass avoids the aliasing of a single large downscale
+    private BufferedImage resize(BufferedImage source, int maxDimension) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    // Drawing onto an opaque RGB canvas also flattens transparency, which JPEG cannot carry
+    private BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
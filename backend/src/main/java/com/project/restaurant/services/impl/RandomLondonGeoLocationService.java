@@ -3,11 +3,13 @@ package com.project.restaurant.services.impl;
 import com.project.restaurant.domain.GeoLocation;
 import com.project.restaurant.domain.entities.Address;
 import com.project.restaurant.services.GeoLocationService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.Random;
 
 @Service
+@Qualifier("geocoder")
 public class RandomLondonGeoLocationService implements GeoLocationService {
 
     private static final float MIN_LATITUDE = 51.28f;
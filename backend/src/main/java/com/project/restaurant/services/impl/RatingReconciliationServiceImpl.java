@@ -0,0 +1,74 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.config.CacheConfig;
+import com.project.restaurant.domain.RatingDrift;
+import com.project.restaurant.domain.RatingReconciliationReport;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.VersionedRatingStats;
+import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
+import com.project.restaurant.services.RatingReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatingReconciliationServiceImpl implements RatingReconciliationService {
+
+    private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+    private final CacheManager cacheManager;
+
+    @Scheduled(cron = "${app.ratings.reconciliation.cron:-}")
+    public void scheduledReconciliation() {
+        reconcileRatings();
+    }
+
+    @Override
+    public RatingReconciliationReport reconcileRatings() {
+        Map<String, VersionedRatingStats> storedStats = restaurantRepository.findAllRatingStats();
+        Map<String, RatingStats> actualStats = reviewRepository.ratingStatsByRestaurant();
+
+        List<RatingDrift> drifts = storedStats.entrySet().stream()
+                .map(entry -> new RatingDrift(
+                        entry.getKey(),
+                        entry.getValue().getStats(),
+                        actualStats.getOrDefault(entry.getKey(), RatingStats.empty())))
+                .filter(drift -> !drift.getStored().equals(drift.getActual()))
+                .toList();
+
+        // Only written if the restaurant is unchanged since it was read, so a concurrent rating change is never lost
+        Map<String, VersionedRatingStats> corrections = new HashMap<>();
+        drifts.forEach(drift -> {
+            log.warn("Rating stats drift for restaurant {}: stored {} but reviews give {}",
+                    drift.getRestaurantId(), drift.getStored(), drift.getActual());
+            corrections.put(drift.getRestaurantId(), new VersionedRatingStats(
+                    drift.getActual(), storedStats.get(drift.getRestaurantId()).getSeqNoPrimaryTerm()));
+        });
+
+        Set<String> skipped = restaurantRepository.updateRatingStatsIfUnchanged(corrections);
+        if (!skipped.isEmpty()) {
+            log.info("Skipped {} restaurants modified during reconciliation; the next run checks them again", skipped.size());
+        }
+
+        // Only the corrected restaurants changed, so the rest of the details cache stays warm
+        Cache restaurantDetailsCache = cacheManager.getCache(CacheConfig.RESTAURANT_DETAILS);
+        corrections.keySet().stream()
+                .filter(restaurantId -> !skipped.contains(restaurantId))
+                .forEach(restaurantDetailsCache::evict);
+
+        log.info("Reconciled rating stats for {} restaurants, corrected {}", storedStats.size(),
+                drifts.size() - skipped.size());
+        return new RatingReconciliationReport(storedStats.size(), drifts, List.copyOf(skipped));
+    }
+}
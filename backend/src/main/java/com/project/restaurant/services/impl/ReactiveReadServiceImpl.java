@@ -0,0 +1,63 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.exceptions.RestaurantNotFoundException;
+import com.project.restaurant.repositories.ReactiveRestaurantRepository;
+import com.project.restaurant.repositories.ReactiveReviewRepository;
+import com.project.restaurant.services.ReactiveReadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveReadServiceImpl implements ReactiveReadService {
+
+    private final ReactiveRestaurantRepository reactiveRestaurantRepository;
+    private final ReactiveReviewRepository reactiveReviewRepository;
+
+    @Override
+    public Mono<Page<Restaurant>> searchRestaurants(RestaurantSearchCriteria criteria, Pageable pageable) {
+        return reactiveRestaurantRepository.search(criteria, pageable);
+    }
+
+    @Override
+    public Flux<Restaurant> streamRestaurants(RestaurantSearchCriteria criteria, int limit) {
+        return reactiveRestaurantRepository.streamSearch(criteria)
+                .take(limit)
+                .doOnCancel(() -> log.debug("Restaurant stream cancelled by subscriber"));
+    }
+
+    @Override
+    public Mono<Restaurant> getRestaurant(String id) {
+        return reactiveRestaurantRepository.findById(id);
+    }
+
+    @Override
+    public Mono<Page<Review>> listRestaurantReviews(String restaurantId, Pageable pageable) {
+        Pageable sortedPageable = PageRequest.of(
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                ReviewSorts.sanitize(pageable.getSort()));
+
+        return reactiveRestaurantRepository.existsById(restaurantId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() ->
+                        new RestaurantNotFoundException("Restaurant with id not found: " + restaurantId)))
+                .then(Mono.zip(
+                        reactiveReviewRepository.findByRestaurantId(restaurantId, sortedPageable).collectList(),
+                        reactiveReviewRepository.countByRestaurantId(restaurantId)))
+                .map(reviews -> new PageImpl<>(reviews.getT1(), sortedPageable, reviews.getT2()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.restaurant.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.config.CacheConfig;
+import com.project.restaurant.domain.RestaurantDetails;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.mappers.RestaurantMapper;
+import com.project.restaurant.services.RestaurantDetailsService;
+import com.project.restaurant.services.RestaurantService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class RestaurantDetailsServiceImpl implements RestaurantDetailsService {
+
+    private final RestaurantService restaurantService;
+    private final RestaurantMapper restaurantMapper;
+    private final ObjectMapper objectMapper;
+
+    // Unknown ids are not cached, so a restaurant created later is never shadowed by a stale miss
+    @Override
+    @Cacheable(cacheNames = CacheConfig.RESTAURANT_DETAILS, key = "#id", unless = "#result == null")
+    public Optional<RestaurantDetails> getRestaurantDetails(String id) {
+        return restaurantService.getRestaurant(id).map(this::toDetails);
+    }
+
+    private RestaurantDetails toDetails(Restaurant restaurant) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(restaurantMapper.toRestaurantDto(restaurant));
+            return new RestaurantDetails(restaurant.getId(), RestaurantDetails.etag(restaurant), body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
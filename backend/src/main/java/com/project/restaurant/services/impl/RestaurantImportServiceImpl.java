@@ -0,0 +1,134 @@
+package com.project.restaurant.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.domain.RestaurantCreateResult;
+import com.project.restaurant.domain.RestaurantCreateUpdateRequest;
+import com.project.restaurant.domain.RestaurantImportResult;
+import com.project.restaurant.domain.dtos.RestaurantCreateUpdateDto;
+import com.project.restaurant.mappers.RestaurantMapper;
+import com.project.restaurant.services.RestaurantImportService;
+import com.project.restaurant.services.RestaurantService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantImportServiceImpl implements RestaurantImportService {
+
+    private final RestaurantService restaurantService;
+    private final RestaurantMapper restaurantMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void importRestaurants(InputStream ndjson, Consumer<RestaurantImportResult> resultConsumer) {
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        List<RestaurantCreateUpdateRequest> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                try {
+                    batch.add(parse(line));
+                    batchLines.add(lineNumber);
+                } catch (IllegalArgumentException e) {
+                    resultConsumer.accept(failure(lineNumber, e.getMessage()));
+                }
+
+                // Reading pauses while a batch is written, so a fast uploader is held back by the socket
+                if (batch.size() >= batchSize) {
+                    flush(batchLines, batch, resultConsumer);
+                }
+            }
+            flush(batchLines, batch, resultConsumer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read restaurant import", e);
+        }
+    }
+
+    private RestaurantCreateUpdateRequest parse(String line) {
+        RestaurantCreateUpdateDto dto;
+        try {
+            dto = objectMapper.readValue(line, RestaurantCreateUpdateDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<RestaurantCreateUpdateDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException("Validation failed: " + violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+
+        return restaurantMapper.toRestaurantCreateUpdateRequest(dto);
+    }
+
+    private void flush(List<Long> batchLines,
+                       List<RestaurantCreateUpdateRequest> batch,
+                       Consumer<RestaurantImportResult> resultConsumer) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<RestaurantCreateResult> results;
+        try {
+            results = restaurantService.createRestaurants(batch);
+        } catch (RuntimeException e) {
+            // Nothing in the batch was written, e.g. the bulk request itself could not be sent
+            log.error("Failed to import batch of {} restaurants", batch.size(), e);
+            String error = "Batch failed: " + e.getMessage();
+            results = batch.stream().map(request -> RestaurantCreateResult.failed(error)).toList();
+        }
+
+        // Outside the catch above: a client that stops reading the report must not look like an import failure
+        for (int i = 0; i < results.size(); i++) {
+            RestaurantCreateResult result = results.get(i);
+            resultConsumer.accept(result.isSuccess()
+                    ? RestaurantImportResult.builder()
+                            .line(batchLines.get(i))
+                            .success(true)
+                            .restaurantId(result.getRestaurant().getId())
+                            .build()
+                    : failure(batchLines.get(i), result.getError()));
+        }
+
+        batchLines.clear();
+        batch.clear();
+    }
+
+    private RestaurantImportResult failure(long line, String error) {
+        return RestaurantImportResult.builder()
+                .line(line)
+                .success(false)
+                .error(error)
+                .build();
+    }
+}
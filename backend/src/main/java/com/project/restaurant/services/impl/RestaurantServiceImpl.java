@@ -1,36 +1,117 @@
 package com.project.restaurant.services.impl;
 
+import com.project.restaurant.config.CacheConfig;
+import com.project.restaurant.domain.CursorPage;
 import com.project.restaurant.domain.GeoLocation;
+import com.project.restaurant.domain.RestaurantCreateResult;
 import com.project.restaurant.domain.RestaurantCreateUpdateRequest;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.RestaurantSuggestion;
 import com.project.restaurant.domain.entities.Address;
 import com.project.restaurant.domain.entities.Photo;
 import com.project.restaurant.domain.entities.Restaurant;
 import com.project.restaurant.exceptions.RestaurantNotFoundException;
 import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
 import com.project.restaurant.services.GeoLocationService;
 import com.project.restaurant.services.RestaurantService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
 import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.suggest.Completion;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class RestaurantServiceImpl implements RestaurantService {
 
     private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
     private final GeoLocationService geolocationService;
+    private final RestaurantWriteRetrier restaurantWriteRetrier;
+    private final Executor geocodingExecutor;
+
+    public RestaurantServiceImpl(RestaurantRepository restaurantRepository,
+                                 ReviewRepository reviewRepository,
+                                 GeoLocationService geolocationService,
+                                 RestaurantWriteRetrier restaurantWriteRetrier,
+                                 @Qualifier("geocodingExecutor") Executor geocodingExecutor) {
+        this.restaurantRepository = restaurantRepository;
+        this.reviewRepository = reviewRepository;
+        this.geolocationService = geolocationService;
+        this.restaurantWriteRetrier = restaurantWriteRetrier;
+        this.geocodingExecutor = geocodingExecutor;
+    }
 
     @Override
     public Restaurant createRestaurant(RestaurantCreateUpdateRequest request) {
+        GeoLocation geoLocation = geolocationService.geoLocate(request.getAddress());
+
+        return restaurantRepository.save(toNewRestaurant(request, geoLocation));
+    }
+
+    @Override
+    public List<RestaurantCreateResult> createRestaurants(List<RestaurantCreateUpdateRequest> requests) {
+        // A failed geocode only fails its own request
+        List<CompletableFuture<RestaurantCreateResult>> geocoded = requests.stream()
+                .map(request -> CompletableFuture.supplyAsync(
+                                () -> toNewRestaurant(request, geolocationService.geoLocate(request.getAddress())),
+                                geocodingExecutor)
+                        .handle((restaurant, failure) -> failure == null
+                                ? RestaurantCreateResult.created(restaurant)
+                                : RestaurantCreateResult.failed("Geocoding failed: " + rootCause(failure).getMessage())))
+                .toList();
+
+        List<RestaurantCreateResult> results = geocoded.stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        // Ids are assigned up front so bulk item failures can be matched back to their requests
+        List<Restaurant> restaurantsToSave = results.stream()
+                .filter(RestaurantCreateResult::isSuccess)
+                .map(RestaurantCreateResult::getRestaurant)
+                .toList();
+        restaurantsToSave.forEach(restaurant -> restaurant.setId(UUID.randomUUID().toString()));
+        if (restaurantsToSave.isEmpty()) {
+            return results;
+        }
+
+        // One _bulk request per batch; skip the per-request refresh so large imports stay cheap
+        try {
+            restaurantRepository.saveAll(restaurantsToSave, RefreshPolicy.NONE);
+        } catch (BulkFailureException e) {
+            Map<String, BulkFailureException.FailureDetails> failedDocuments = e.getFailedDocuments();
+            return results.stream()
+                    .map(result -> result.isSuccess() && failedDocuments.containsKey(result.getRestaurant().getId())
+                            ? RestaurantCreateResult.failed(
+                                    failedDocuments.get(result.getRestaurant().getId()).errorMessage())
+                            : result)
+                    .toList();
+        }
+        return results;
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private Restaurant toNewRestaurant(RestaurantCreateUpdateRequest request, GeoLocation geoLocation) {
         Address address = request.getAddress();
-        GeoLocation geoLocation = geolocationService.geoLocate(address);
         GeoPoint geoPoint = new GeoPoint(geoLocation.getLatitude(), geoLocation.getLongitude());
 
         List<String> photoIds = request.getPhotoIds();
@@ -39,44 +120,41 @@ public class RestaurantServiceImpl implements RestaurantService {
                 .uploadDate(LocalDateTime.now())
                 .build()).toList();
 
-        Restaurant restaurant = Restaurant.builder()
+        return Restaurant.builder()
                 .name(request.getName())
                 .cuisineType(request.getCuisineType())
+                .suggest(toSuggestion(request))
                 .contactInformation(request.getContactInformation())
                 .address(address)
                 .geoLocation(geoPoint)
                 .operatingHours(request.getOperatingHours())
                 .averageRating(0f)
+                .totalReviews(0)
+                .ratingSum(0L)
+                .ratingCount(0L)
+                .ratingHistogram(new HashMap<>())
                 .photos(photos)
                 .build();
+    }
 
-        return restaurantRepository.save(restaurant);
+    private Completion toSuggestion(RestaurantCreateUpdateRequest request) {
+        return new Completion(new String[]{request.getName(), request.getCuisineType()});
     }
 
     @Override
-    public Page<Restaurant> searchRestaurants(
-            String query,
-            Float minRating,
-            Float latitude,
-            Float longitude,
-            Float radius,
-            Pageable pageable) {
-
-        if (null != minRating && (query == null || query.isEmpty())) {
-            return restaurantRepository.findByAverageRatingGreaterThanEqual(minRating, pageable);
-        }
-
-        Float searchMinRating = minRating == null ? 0f : minRating;
-
-        if (query != null && !query.trim().isEmpty()) {
-            return restaurantRepository.findByQueryAndMinRating(query, searchMinRating, pageable);
-        }
+    public Page<Restaurant> searchRestaurants(RestaurantSearchCriteria criteria, Pageable pageable) {
+        return restaurantRepository.search(criteria, pageable);
+    }
 
-        if (latitude != null && longitude != null && radius != null) {
-            return restaurantRepository.findByLocationNear(latitude, longitude, radius, pageable);
-        }
+    @Override
+    public CursorPage<Restaurant> scrollRestaurants(RestaurantSearchCriteria criteria, int size, String cursor) {
+        return restaurantRepository.scroll(criteria, size, cursor);
+    }
 
-        return restaurantRepository.findAll(pageable);
+    @Override
+    @Cacheable(cacheNames = CacheConfig.RESTAURANT_SUGGESTIONS, key = "#prefix.trim().toLowerCase() + '|' + #size")
+    public List<RestaurantSuggestion> suggestRestaurants(String prefix, int size) {
+        return restaurantRepository.suggest(prefix.trim(), size);
     }
 
     @Override
@@ -85,13 +163,8 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.RESTAURANT_DETAILS, key = "#id")
     public Restaurant updateRestaurant(String id, RestaurantCreateUpdateRequest request) {
-        Restaurant existingRestaurant = getRestaurant(id)
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found with id: " + id));
-
-        GeoLocation geoLocation = geolocationService.geoLocate(request.getAddress());
-        GeoPoint geoPoint = new GeoPoint(geoLocation.getLatitude(), geoLocation.getLongitude());
-
         List<Photo> photos = request.getPhotoIds()
                 .stream().map(photoUrl ->
                         Photo.builder()
@@ -100,20 +173,33 @@ public class RestaurantServiceImpl implements RestaurantService {
                                 .build()
                 ).collect(Collectors.toList());
 
-        existingRestaurant.setName(request.getName());
-        existingRestaurant.setCuisineType(request.getCuisineType());
-        existingRestaurant.setContactInformation(request.getContactInformation());
-        existingRestaurant.setAddress(request.getAddress());
-        existingRestaurant.setGeoLocation(geoPoint);
-        existingRestaurant.setOperatingHours(request.getOperatingHours());
-        existingRestaurant.setPhotos(photos);
-
-        return restaurantRepository.save(existingRestaurant);
+        return restaurantWriteRetrier.execute("update", id, () -> {
+            Restaurant existingRestaurant = getRestaurant(id)
+                    .orElseThrow(() -> new RestaurantNotFoundException("Restaurant not found with id: " + id));
+
+            existingRestaurant.setName(request.getName());
+            existingRestaurant.setCuisineType(request.getCuisineType());
+            existingRestaurant.setSuggest(toSuggestion(request));
+            existingRestaurant.setContactInformation(request.getContactInformation());
+            // Only re-geocode when the address actually moved; retries hit the geocoding cache
+            if (existingRestaurant.getGeoLocation() == null
+                    || !AddressKeys.sameLocation(existingRestaurant.getAddress(), request.getAddress())) {
+                GeoLocation geoLocation = geolocationService.geoLocate(request.getAddress());
+                existingRestaurant.setGeoLocation(new GeoPoint(geoLocation.getLatitude(), geoLocation.getLongitude()));
+            }
+            existingRestaurant.setAddress(request.getAddress());
+            existingRestaurant.setOperatingHours(request.getOperatingHours());
+            existingRestaurant.setPhotos(photos);
+
+            return restaurantRepository.save(existingRestaurant);
+        });
 
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.RESTAURANT_DETAILS, key = "#id")
     public void deleteRestaurant(String id) {
+        reviewRepository.deleteByRestaurantId(id);
         restaurantRepository.deleteById(id);
     }
 }
@@ -0,0 +1,50 @@
+package com.project.restaurant.services.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a restaurant write that is guarded by seq_no/primary_term, re-running it (including
+ * its reload) when Elasticsearch reports a concurrent modification.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantWriteRetrier {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.restaurants.write.max-attempts:3}")
+    private int maxAttempts;
+
+    public <T> T execute(String operation, String restaurantId, Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.get();
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("restaurant.write.conflicts", "operation", operation).increment();
+
+                if (attempt >= maxAttempts) {
+                    log.warn("Giving up {} of restaurant {} after {} conflicting attempts", operation, restaurantId, attempt);
+                    throw e;
+                }
+
+                meterRegistry.counter("restaurant.write.retries", "operation", operation).increment();
+                log.debug("Conflict on {} of restaurant {}, retrying (attempt {})", operation, restaurantId, attempt + 1);
+            }
+        }
+    }
+
+    public void execute(String operation, String restaurantId, Runnable write) {
+        execute(operation, restaurantId, () -> {
+            write.run();
+            return null;
+        });
+    }
+}
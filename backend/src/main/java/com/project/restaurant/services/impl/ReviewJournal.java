@@ -0,0 +1,296 @@
+package com.project.restaurant.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.domain.entities.Review;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, fsynced log of accepted reviews that have not been written to Elasticsearch yet.
+ * Records go to numbered segment files, one JSON line each; a full segment is sealed and a new
+ * one started. The sequence numbers of flushed reviews are fsynced to a companion file next to
+ * their segment, and a sealed segment is deleted with its companion once every review in it has
+ * been flushed. {@link #close()} seals the active segment, so a clean shutdown leaves only what
+ * is still unflushed. After a crash, {@link #recover()} returns the reviews not marked as flushed;
+ * a review whose flush completed just before the crash may still be among them, so flushing must
+ * be idempotent. Reviews that cannot be written at all are moved to {@code dead-letter.log}, which
+ * is never replayed.
+ */
+@Slf4j
+final class ReviewJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String FLUSHED_SUFFIX = ".flushed";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object deadLetterLock = new Object();
+
+    private long nextSequence = 1;
+    private Segment activeSegment;
+    private FileChannel activeChannel;
+
+    ReviewJournal(Path directory, long maxSegmentBytes, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the unflushed reviews left in the journal, in the order they were accepted, and opens
+     * a new segment for appends. Must be called once before {@link #append}.
+     */
+    synchronized List<Entry> recover() {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(ReviewJournal::isSegment).sorted().toList();
+            }
+            for (Path file : files) {
+                Segment segment = new Segment(file);
+                segment.sealed = true;
+                segments.put(firstSequence(file), segment);
+                Set<Long> flushed = readFlushed(segment.flushedPath);
+                for (Entry entry : read(file)) {
+                    nextSequence = Math.max(nextSequence, entry.sequence() + 1);
+                    if (!flushed.contains(entry.sequence())) {
+                        entries.add(entry);
+                        segment.outstanding.incrementAndGet();
+                    }
+                }
+                deleteIfFlushed(segment);
+            }
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover review journal in " + directory, e);
+        }
+        if (!entries.isEmpty()) {
+            log.info("Recovered {} unflushed reviews from the journal", entries.size());
+        }
+        return entries;
+    }
+
+    /**
+     * Durably records the review; returns only once it is on disk.
+     */
+    synchronized Entry append(Review review) {
+        Entry entry = new Entry(nextSequence++, review);
+        try {
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            if (activeChannel.size() > 0 && activeChannel.size() + line.length > maxSegmentBytes) {
+                rotate();
+            }
+            write(activeChannel, line);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to review journal", e);
+        }
+        activeSegment.outstanding.incrementAndGet();
+        return entry;
+    }
+
+    /**
+     * Durably records that the reviews were written, so they are not replayed on recovery.
+     */
+    void markFlushed(List<Entry> entries) {
+        Map<Segment, List<Entry>> bySegment = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            Map.Entry<Long, Segment> owner = segments.floorEntry(entry.sequence());
+            if (owner != null) {
+                bySegment.computeIfAbsent(owner.getValue(), segment -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        bySegment.forEach((segment, flushed) -> {
+            StringBuilder lines = new StringBuilder();
+            flushed.forEach(entry -> lines.append(entry.sequence()).append('\n'));
+            synchronized (segment) {
+                if (segment.deleted) {
+                    return;
+                }
+                try (FileChannel channel = FileChannel.open(segment.flushedPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    write(channel, lines.toString().getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not record flushed reviews in " + segment.flushedPath, e);
+                }
+            }
+            if (segment.outstanding.addAndGet(-flushed.size()) == 0) {
+                deleteIfFlushed(segment);
+            }
+        });
+    }
+
+    /**
+     * Durably copies the reviews to the dead-letter file and marks them as flushed, so they are
+     * kept for inspection but no longer replayed.
+     */
+    void deadLetter(List<Entry> entries) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (Entry entry : entries) {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            }
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize dead-lettered reviews", e);
+        }
+        Path file = directory.resolve(DEAD_LETTER_FILE);
+        synchronized (deadLetterLock) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                write(channel, lines.toString().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to " + file, e);
+            }
+        }
+        markFlushed(entries);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (activeChannel == null) {
+            return;
+        }
+        try {
+            activeChannel.close();
+        } catch (IOException e) {
+            log.warn("Could not close review journal segment {}", activeSegment.path, e);
+        }
+        seal(activeSegment);
+        activeChannel = null;
+    }
+
+    private void rotate() throws IOException {
+        activeChannel.close();
+        seal(activeSegment);
+        openSegment();
+    }
+
+    private void seal(Segment segment) {
+        synchronized (segment) {
+            segment.sealed = true;
+        }
+        deleteIfFlushed(segment);
+    }
+
+    private void openSegment() throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+        activeSegment = new Segment(file);
+        segments.put(nextSequence, activeSegment);
+        activeChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private void deleteIfFlushed(Segment segment) {
+        synchronized (segment) {
+            if (!segment.sealed || segment.outstanding.get() > 0 || segment.deleted) {
+                return;
+            }
+            segment.deleted = true;
+        }
+        try {
+            // The segment goes first: a leftover companion file is ignored, a leftover segment without it is replayed
+            Files.deleteIfExists(segment.path);
+            Files.deleteIfExists(segment.flushedPath);
+            segments.values().remove(segment);
+        } catch (IOException e) {
+            log.warn("Could not delete flushed review journal segment {}", segment.path, e);
+        }
+    }
+
+    private List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(objectMapper.readValue(line, Entry.class));
+                } catch (JsonProcessingException e) {
+                    // Only the last append can be torn, and it was never acknowledged
+                    log.warn("Skipping unreadable review journal record in {}", file, e);
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static Set<Long> readFlushed(Path file) throws IOException {
+        Set<Long> flushed = new HashSet<>();
+        if (!Files.exists(file)) {
+            return flushed;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            try {
+                flushed.add(Long.parseLong(line.trim()));
+            } catch (NumberFormatException e) {
+                // A torn last line only means that flush is replayed
+                log.warn("Skipping unreadable flushed marker in {}", file);
+            }
+        }
+        return flushed;
+    }
+
+    private static void write(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    record Entry(long sequence, Review review) {
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final Path flushedPath;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private boolean sealed;
+        private boolean deleted;
+
+        private Segment(Path path) {
+            this.path = path;
+            String name = path.getFileName().toString();
+            this.flushedPath = path.resolveSibling(
+                    name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + FLUSHED_SUFFIX);
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.project.restaurant.services.impl;
 
+import com.project.restaurant.config.CacheConfig;
+import com.project.restaurant.domain.CursorPage;
 import com.project.restaurant.domain.ReviewCreateUpdateRequest;
 import com.project.restaurant.domain.entities.Photo;
-import com.project.restaurant.domain.entities.Restaurant;
 import com.project.restaurant.domain.entities.Review;
 import com.project.restaurant.domain.entities.User;
 import com.project.restaurant.exceptions.RestaurantNotFoundException;
 import com.project.restaurant.exceptions.ReviewNotAllowedException;
 import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
 import com.project.restaurant.services.ReviewService;
+import com.project.restaurant.services.ReviewWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.ResourceNotFoundException;
@@ -26,18 +30,14 @@ import java.util.stream.Collectors;
 public class ReviewServiceImpl implements ReviewService {
 
     private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+    private final RestaurantWriteRetrier restaurantWriteRetrier;
+    private final ReviewWriter reviewWriter;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.RESTAURANT_DETAILS, key = "#restaurantId")
     public Review createReview(User author, String restaurantId, ReviewCreateUpdateRequest review) {
-        Restaurant restaurant = getRestaurantOrThrow(restaurantId);
-
-        boolean hasExistingReview = restaurant.getReviews()
-                .stream()
-                .anyMatch(r -> r.getWrittenBy().getId().equals(author.getId()));
-
-        if (hasExistingReview) {
-            throw new IllegalArgumentException("User has already written a review for this restaurant");
-        }
+        ensureRestaurantExists(restaurantId);
 
         LocalDateTime now = LocalDateTime.now();
 
@@ -49,7 +49,8 @@ public class ReviewServiceImpl implements ReviewService {
         }).toList();
 
         Review reviewToCreate = Review.builder()
-                .id(UUID.randomUUID().toString())
+                .id(Review.idFor(restaurantId, author.getId()))
+                .restaurantId(restaurantId)
                 .content(review.getContent())
                 .rating(review.getRating())
                 .photos(photos)
@@ -58,74 +59,66 @@ public class ReviewServiceImpl implements ReviewService {
                 .writtenBy(author)
                 .build();
 
-        restaurant.getReviews().add(reviewToCreate);
+        // The writer rejects a second review by the same author through the deterministic id
+        return reviewWriter.create(reviewToCreate);
+    }
 
-        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+    @Override
+    public Page<Review> listUserReviews(String userId, Pageable pageable) {
+        Pageable sortedPageable = PageRequest.of(
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                ReviewSorts.sanitize(pageable.getSort()));
 
-        return savedRestaurant.getReviews().stream()
-                .filter(r -> r.getDatePosted().equals(reviewToCreate.getDatePosted()))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Error retrieving created review"));
+        return reviewRepository.findByWrittenById(userId, sortedPageable);
     }
 
     @Override
     public Page<Review> listRestaurantReviews(String restaurantId, Pageable pageable) {
-        Restaurant restaurant = getRestaurantOrThrow(restaurantId);
-
-        List<Review> reviews = new ArrayList<>(restaurant.getReviews());
-
-        Sort sort = pageable.getSort();
-        if (sort.isSorted()) {
-            Sort.Order order = sort.iterator().next();
-            String property = order.getProperty();
-            boolean isAscending = order.getDirection().isAscending();
-
-            Comparator<Review> comparator =
-                    switch (property) {
-                        case "datePosted" -> Comparator.comparing(Review::getDatePosted);
-                        case "rating" -> Comparator.comparing(Review::getRating);
-                        default -> Comparator.comparing(Review::getDatePosted);
-                    };
-            reviews.sort(isAscending ? comparator : comparator.reversed());
-        } else {
-            reviews.sort(Comparator.comparing(Review::getDatePosted).reversed());
-        }
+        ensureRestaurantExists(restaurantId);
 
-        int start = (int) pageable.getOffset();
+        Pageable sortedPageable = PageRequest.of(
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                ReviewSorts.sanitize(pageable.getSort()));
 
-        if (start >= reviews.size()) {
-            return new PageImpl<>(Collections.emptyList(), pageable, reviews.size());
-        }
+        return reviewRepository.findByRestaurantId(restaurantId, sortedPageable);
+    }
 
-        int end = Math.min((start + pageable.getPageSize()), reviews.size());
+    @Override
+    public CursorPage<Review> scrollRestaurantReviews(String restaurantId, Sort sort, int size, String cursor) {
+        ensureRestaurantExists(restaurantId);
 
-        return new PageImpl<>(reviews.subList(start, end), pageable, reviews.size());
+        return reviewRepository.scrollByRestaurantId(restaurantId, ReviewSorts.sanitize(sort), size, cursor);
     }
 
     @Override
     public Optional<Review> getRestaurantReview(String restaurantId, String reviewId) {
-        Restaurant restaurant = getRestaurantOrThrow(restaurantId);
-        return restaurant.getReviews().stream()
-                .filter(r -> r.getId().equals(reviewId))
-                .findFirst();
+        Optional<Review> review = findRestaurantReview(restaurantId, reviewId);
+        if (review.isEmpty()) {
+            ensureRestaurantExists(restaurantId);
+        }
+        return review;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.RESTAURANT_DETAILS, key = "#restaurantId")
     public Review updateReview(User user, String restaurantId, String reviewId, ReviewCreateUpdateRequest request) {
-        Restaurant restaurant = getRestaurantOrThrow(restaurantId);
         String currentUserId = user.getId();
 
-        List<Review> reviews = restaurant.getReviews();
-        Review existingReview = reviews.stream()
-                .filter(r -> r.getId().equals(reviewId) &&
-                        r.getWrittenBy().getId().equals(currentUserId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + reviewId));
+        Review existingReview = findRestaurantReview(restaurantId, reviewId)
+                .filter(r -> r.getWrittenBy().getId().equals(currentUserId))
+                .orElseThrow(() -> {
+                    ensureRestaurantExists(restaurantId);
+                    return new ResourceNotFoundException("Review not found with id: " + reviewId);
+                });
 
         if (LocalDateTime.now().isAfter(existingReview.getDatePosted().plusHours(48))) {
             throw new ReviewNotAllowedException("Review can no longer be edited (48-hour limit exceeded)");
         }
 
+        Integer previousRating = existingReview.getRating();
+
         existingReview.setContent(request.getContent());
         existingReview.setRating(request.getRating());
         existingReview.setLastEdited(LocalDateTime.now());
@@ -138,46 +131,41 @@ public class ReviewServiceImpl implements ReviewService {
                     return photo;
                 }).collect(Collectors.toList()));
 
-        updateRestaurantAverageRating(restaurant);
+        Review savedReview = reviewRepository.save(existingReview);
 
-        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
-        return savedRestaurant.getReviews().stream()
-                .filter(r -> r.getId().equals(reviewId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Error retrieving updated review"));
+        if (!previousRating.equals(savedReview.getRating())) {
+            applyRatingChange(restaurantId, previousRating, savedReview.getRating());
+        }
+
+        return savedReview;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.RESTAURANT_DETAILS, key = "#restaurantId")
     public void deleteReview(String restaurantId, String reviewId) {
-        Restaurant restaurant = getRestaurantOrThrow(restaurantId);
-
-        List<Review> reviews = restaurant.getReviews().stream()
-                .filter(review -> !reviewId.equals(review.getId()))
-                .toList();
-
-        restaurant.setReviews(reviews);
-        updateRestaurantAverageRating(restaurant);
-        restaurantRepository.save(restaurant);
+        findRestaurantReview(restaurantId, reviewId)
+                .ifPresentOrElse(review -> {
+                    reviewRepository.delete(review);
+                    applyRatingChange(restaurantId, review.getRating(), null);
+                }, () -> ensureRestaurantExists(restaurantId));
     }
 
 
-    public Restaurant getRestaurantOrThrow(String restaurantId) {
-        return restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new RestaurantNotFoundException("Restaurant with id not found: " + restaurantId));
+    public void ensureRestaurantExists(String restaurantId) {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RestaurantNotFoundException("Restaurant with id not found: " + restaurantId);
+        }
     }
 
+    private void applyRatingChange(String restaurantId, Integer removedRating, Integer addedRating) {
+        restaurantWriteRetrier.execute("rating", restaurantId, () ->
+                restaurantRepository.applyRatingChange(restaurantId, removedRating, addedRating));
+    }
 
-    public void updateRestaurantAverageRating(Restaurant restaurant) {
-        List<Review> reviews = restaurant.getReviews();
-        if (reviews.isEmpty()) {
-            restaurant.setAverageRating(0.0f);
-        } else {
-            float averageRating = (float) reviews.stream()
-                    .mapToDouble(Review::getRating)
-                    .average()
-                    .orElse(0.0);
-            restaurant.setAverageRating(averageRating);
-        }
+    // Reviews are deleted with their restaurant, so a matching review implies the restaurant exists
+    private Optional<Review> findRestaurantReview(String restaurantId, String reviewId) {
+        return reviewRepository.findById(reviewId)
+                .filter(r -> restaurantId.equals(r.getRestaurantId()));
     }
 
 
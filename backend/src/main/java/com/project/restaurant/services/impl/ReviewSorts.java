@@ -0,0 +1,27 @@
+package com.project.restaurant.services.impl;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+final class ReviewSorts {
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("datePosted", "rating");
+    private static final Sort.Order DEFAULT_ORDER = Sort.Order.desc("datePosted");
+
+    private ReviewSorts() {
+    }
+
+    static Sort sanitize(Sort requested) {
+        Sort.Order order = requested.stream()
+                .findFirst()
+                .orElse(DEFAULT_ORDER);
+
+        String property = SORTABLE_PROPERTIES.contains(order.getProperty())
+                ? order.getProperty()
+                : DEFAULT_ORDER.getProperty();
+
+        // The id tiebreaker keeps pages stable and makes the sort values usable as a search_after cursor
+        return Sort.by(new Sort.Order(order.getDirection(), property), Sort.Order.asc("id"));
+    }
+}
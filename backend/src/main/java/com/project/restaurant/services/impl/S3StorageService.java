@@ -0,0 +1,153 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.config.CacheConfig;
+import com.project.restaurant.domain.StoredFile;
+import com.project.restaurant.exceptions.StorageException;
+import com.project.restaurant.services.StorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Stores photos in an S3-compatible bucket under the same sharded keys as the local layout.
+ * Downloads are redirected to pre-signed URLs, so photo bytes never pass through the JVM.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3StorageService implements StorageService {
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+
+    @Value("${app.storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${app.storage.s3.presign-ttl:1h}")
+    private Duration presignTtl;
+
+    @Override
+    public String store(InputStream content, String extension, long maxSize) {
+        ContentHashingSpool.SpooledUpload upload = ContentHashingSpool.spool(
+                content, Path.of(System.getProperty("java.io.tmpdir")), maxSize);
+        try {
+            String finalFileName = upload.getSha256() + "." + extension;
+
+            if (head(finalFileName).isPresent()) {
+                log.debug("Upload matches existing object {}", finalFileName);
+                return finalFileName;
+            }
+
+            s3Client.putObject(request -> request
+                            .bucket(bucket)
+                            .key(StorageLayout.shardedKey(finalFileName))
+                            .contentType(contentType(finalFileName))
+                            .cacheControl(IMMUTABLE_CACHE_CONTROL),
+                    RequestBody.fromFile(upload.getFile()));
+            return finalFileName;
+
+        } catch (SdkException e) {
+            throw new StorageException("Failed to store file", e);
+        } finally {
+            ContentHashingSpool.deleteQuietly(upload.getFile());
+        }
+    }
+
+    @Override
+    public void write(String filename, byte[] content) {
+        try {
+            s3Client.putObject(request -> request
+                            .bucket(bucket)
+                            .key(StorageLayout.shardedKey(filename))
+                            .contentType(contentType(filename))
+                            .cacheControl(IMMUTABLE_CACHE_CONTROL),
+                    RequestBody.fromBytes(content));
+        } catch (SdkException e) {
+            throw new StorageException("Failed to store file", e);
+        }
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PHOTO_FILES, key = "#filename", unless = "#result == null")
+    public Optional<StoredFile> load(String filename) {
+        try {
+            return head(filename).map(object -> StoredFile.builder()
+                    .filename(filename)
+                    .contentLength(object.contentLength())
+                    .lastModified(object.lastModified().toEpochMilli())
+                    .build());
+        } catch (StorageException | SdkException e) {
+            log.debug("Could not read object: {}", filename, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public InputStream open(String filename) {
+        try {
+            return s3Client.getObject(request -> request
+                    .bucket(bucket)
+                    .key(StorageLayout.shardedKey(filename)));
+        } catch (SdkException e) {
+            throw new StorageException("Failed to read file", e);
+        }
+    }
+
+    @Override
+    public Optional<URI> downloadUrl(String filename) {
+        try {
+            return Optional.of(s3Presigner.presignGetObject(presign -> presign
+                            .signatureDuration(presignTtl)
+                            .getObjectRequest(request -> request
+                                    .bucket(bucket)
+                                    .key(StorageLayout.shardedKey(filename))))
+                    .url()
+                    .toURI());
+        } catch (URISyntaxException e) {
+            throw new StorageException("Failed to sign download URL", e);
+        }
+    }
+
+    private Optional<HeadObjectResponse> head(String filename) {
+        try {
+            return Optional.of(s3Client.headObject(request -> request
+                    .bucket(bucket)
+                    .key(StorageLayout.shardedKey(filename))));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private String contentType(String filename) {
+        return MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+    }
+}
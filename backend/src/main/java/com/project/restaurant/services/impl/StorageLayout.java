@@ -0,0 +1,37 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.exceptions.StorageException;
+
+import java.util.regex.Pattern;
+
+/**
+ * Fans stored files out over two directory levels taken from the start of their name,
+ * so {@code 3fa9c2...e1.jpg} lives at {@code 3f/a9/3fa9c2...e1.jpg}. Names are content
+ * hashes or UUIDs, which spreads files evenly across the 65536 leaf directories.
+ */
+final class StorageLayout {
+
+    private static final Pattern SAFE_FILENAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+    private static final int SHARD_WIDTH = 2;
+
+    private StorageLayout() {
+    }
+
+    static String shardedKey(String filename) {
+        validate(filename);
+
+        if (filename.length() < SHARD_WIDTH * 2) {
+            return filename;
+        }
+
+        return filename.substring(0, SHARD_WIDTH)
+                + "/" + filename.substring(SHARD_WIDTH, SHARD_WIDTH * 2)
+                + "/" + filename;
+    }
+
+    static void validate(String filename) {
+        if (filename == null || !SAFE_FILENAME.matcher(filename).matches()) {
+            throw new StorageException("Invalid file name: " + filename);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.project.restaurant.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.config.CacheConfig;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.VersionedRatingStats;
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.exceptions.RestaurantNotFoundException;
+import com.project.restaurant.exceptions.ReviewAlreadyExistsException;
+import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
+import com.project.restaurant.services.ReviewWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind review ingestion. A review is journaled to local disk and acknowledged; reviews
+ * for the same restaurant that arrive within {@code max-delay} of the first are then written
+ * together: one bulk save of the reviews and one update of the restaurant's rating aggregate,
+ * instead of a save and a scripted update per review.
+ * <p>
+ * Each restaurant is always flushed by the same worker, so its batches are applied in order. The
+ * aggregate is recomputed from the reviews index rather than incremented, which makes a flush
+ * safe to repeat after a crash or a failed attempt. Accepted reviews become visible once flushed.
+ * A batch whose restaurant no longer exists, or that still fails after {@code max-attempts}, is
+ * moved to the journal's dead-letter file instead of being retried forever.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.reviews.ingestion.mode", havingValue = "write-behind")
+public class WriteBehindReviewWriter implements ReviewWriter, SmartLifecycle {
+
+    private final RestaurantRepository restaurantRepository;
+    private final ReviewRepository reviewRepository;
+    private final RestaurantWriteRetrier restaurantWriteRetrier;
+    private final Cache restaurantDetailsCache;
+    private final ReviewJournal journal;
+    private final Duration maxDelay;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+    private final ScheduledExecutorService[] workers;
+
+    private final Map<String, List<PendingReview>> pending = new ConcurrentHashMap<>();
+    private final Set<String> pendingReviewIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Timer flushTimer;
+    private final Timer lagTimer;
+    private final DistributionSummary batchSizes;
+    private final MeterRegistry meterRegistry;
+
+    private volatile boolean running;
+
+    public WriteBehindReviewWriter(
+            RestaurantRepository restaurantRepository,
+            ReviewRepository reviewRepository,
+            RestaurantWriteRetrier restaurantWriteRetrier,
+            CacheManager cacheManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.reviews.ingestion.journal-dir:journal/reviews}") Path journalDir,
+            @Value("${app.reviews.ingestion.segment-size:16MB}") DataSize segmentSize,
+            @Value("${app.reviews.ingestion.max-delay:200ms}") Duration maxDelay,
+            @Value("${app.reviews.ingestion.retry-delay:5s}") Duration retryDelay,
+            @Value("${app.reviews.ingestion.max-attempts:20}") int maxAttempts,
+            @Value("${app.reviews.ingestion.workers:4}") int workerCount) {
+        this.restaurantRepository = restaurantRepository;
+        this.reviewRepository = reviewRepository;
+        this.restaurantWriteRetrier = restaurantWriteRetrier;
+        this.restaurantDetailsCache = cacheManager.getCache(CacheConfig.RESTAURANT_DETAILS);
+        this.journal = new ReviewJournal(journalDir, segmentSize.toBytes(), objectMapper);
+        this.maxDelay = maxDelay;
+        this.retryDelay = retryDelay;
+        this.maxAttempts = maxAttempts;
+        this.meterRegistry = meterRegistry;
+
+        this.workers = new ScheduledExecutorService[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            String name = "review-ingestion-" + i;
+            workers[i] = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, name));
+        }
+
+        Gauge.builder("restaurant.reviews.ingestion.pending", pendingCount, AtomicInteger::get)
+                .description("Accepted reviews waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("restaurant.reviews.ingestion.pending.restaurants", pending, Map::size)
+                .description("Restaurants with reviews waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("restaurant.reviews.ingestion.flush")
+                .description("Time to write one restaurant's batch of reviews")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("restaurant.reviews.ingestion.lag")
+                .description("Time from accepting a review until it is written")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("restaurant.reviews.ingestion.batch.size")
+                .description("Reviews coalesced into one flush")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Review create(Review review) {
+        if (!running) {
+            throw new IllegalStateException("Review ingestion is not running");
+        }
+
+        // Claiming the id first keeps two concurrent posts of the same review from both being accepted
+        String reviewId = review.getId();
+        if (!pendingReviewIds.add(reviewId)) {
+            throw new ReviewAlreadyExistsException("Review already pending: " + reviewId);
+        }
+        try {
+            if (reviewRepository.existsById(reviewId)) {
+                throw new ReviewAlreadyExistsException("Review already exists: " + reviewId);
+            }
+            enqueue(journal.append(review));
+        } catch (RuntimeException e) {
+            pendingReviewIds.remove(reviewId);
+            throw e;
+        }
+        return review;
+    }
+
+    @Override
+    public synchronized void start() {
+        List<ReviewJournal.Entry> recovered = journal.recover();
+        running = true;
+        recovered.forEach(this::enqueue);
+    }
+
+    // Already scheduled flushes still run; whatever is not written in time stays in the journal
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (ScheduledExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        for (ScheduledExecutorService worker : workers) {
+            try {
+                worker.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        journal.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Recover before the web server accepts requests, and keep flushing until it has stopped
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void enqueue(ReviewJournal.Entry entry) {
+        Review review = entry.review();
+        String restaurantId = review.getRestaurantId();
+        PendingReview pendingReview = new PendingReview(entry, System.nanoTime(), 0);
+
+        pendingReviewIds.add(review.getId());
+        pendingCount.incrementAndGet();
+        pending.compute(restaurantId, (id, reviews) -> {
+            if (reviews == null) {
+                reviews = new ArrayList<>();
+                schedule(id, maxDelay);
+            }
+            reviews.add(pendingReview);
+            return reviews;
+        });
+    }
+
+    private void schedule(String restaurantId, Duration delay) {
+        ScheduledExecutorService worker = workers[Math.floorMod(restaurantId.hashCode(), workers.length)];
+        if (!worker.isShutdown()) {
+            worker.schedule(() -> flush(restaurantId), delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(String restaurantId) {
+        List<PendingReview> batch = pending.remove(restaurantId);
+        if (batch == null) {
+            return;
+        }
+
+        List<Review> reviews = batch.stream().map(pendingReview -> pendingReview.entry().review()).toList();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            // Waits for the refresh so the aggregate below sees this batch; replayed reviews that
+            // were already written are skipped, so later edits are not overwritten
+            reviewRepository.createAll(reviews);
+            restaurantWriteRetrier.execute("rating", restaurantId, () -> {
+                // Versioned so that a concurrent review edit or delete, which adjusts the rating in
+                // place, makes this write conflict and recompute instead of being overwritten
+                SeqNoPrimaryTerm version = restaurantRepository.findSeqNoPrimaryTerm(restaurantId)
+                        .orElseThrow(() -> new RestaurantNotFoundException("Restaurant with id not found: " + restaurantId));
+                RatingStats stats = reviewRepository.ratingStatsForRestaurant(restaurantId);
+                Set<String> skipped = restaurantRepository.updateRatingStatsIfUnchanged(
+                        Map.of(restaurantId, new VersionedRatingStats(stats, version)));
+                if (!skipped.isEmpty()) {
+                    throw new OptimisticLockingFailureException(
+                            "Restaurant " + restaurantId + " changed while its rating was recomputed");
+                }
+            });
+            restaurantDetailsCache.evict(restaurantId);
+        } catch (RuntimeException e) {
+            meterRegistry.counter("restaurant.reviews.ingestion.failures").increment();
+            handleFailure(restaurantId, batch, e);
+            return;
+        } finally {
+            sample.stop(flushTimer);
+        }
+
+        long now = System.nanoTime();
+        batchSizes.record(batch.size());
+        try {
+            journal.markFlushed(batch.stream().map(PendingReview::entry).toList());
+        } catch (UncheckedIOException e) {
+            // Replaying them is harmless, since existing reviews are skipped
+            log.warn("Could not mark {} reviews for restaurant {} as flushed", batch.size(), restaurantId, e);
+        }
+        batch.forEach(pendingReview -> lagTimer.record(now - pendingReview.acceptedNanos(), TimeUnit.NANOSECONDS));
+        release(batch);
+        log.debug("Wrote {} reviews for restaurant {}", batch.size(), restaurantId);
+    }
+
+    private void handleFailure(String restaurantId, List<PendingReview> batch, RuntimeException failure) {
+        int attempts = batch.stream().mapToInt(PendingReview::attempts).max().orElse(0) + 1;
+        String reason = null;
+        if (attempts >= maxAttempts) {
+            reason = "failed " + attempts + " times";
+        } else if (restaurantGone(restaurantId)) {
+            reason = "restaurant no longer exists";
+        }
+
+        if (reason == null) {
+            log.warn("Could not write {} reviews for restaurant {}, retrying in {} (attempt {} of {})",
+                    batch.size(), restaurantId, retryDelay, attempts, maxAttempts, failure);
+            requeue(restaurantId, batch.stream().map(PendingReview::retried).toList());
+            return;
+        }
+
+        try {
+            journal.deadLetter(batch.stream().map(PendingReview::entry).toList());
+        } catch (UncheckedIOException e) {
+            // Without the dead-letter copy the reviews are only safe in the journal, so keep retrying
+            log.error("Could not dead-letter {} reviews for restaurant {}, retrying in {}",
+                    batch.size(), restaurantId, retryDelay, e);
+            requeue(restaurantId, batch);
+            return;
+        }
+        log.error("Dead-lettered {} reviews for restaurant {}: {}", batch.size(), restaurantId, reason, failure);
+        meterRegistry.counter("restaurant.reviews.ingestion.dead-lettered").increment(batch.size());
+        release(batch);
+    }
+
+    // An unreachable index says nothing about the restaurant, so only a definite answer counts
+    private boolean restaurantGone(String restaurantId) {
+        try {
+            return !restaurantRepository.existsById(restaurantId);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // Failed reviews go back in front of anything that arrived meanwhile, keeping acceptance order
+    private void requeue(String restaurantId, List<PendingReview> batch) {
+        pending.compute(restaurantId, (id, reviews) -> {
+            List<PendingReview> merged = new ArrayList<>(batch);
+            if (reviews != null) {
+                merged.addAll(reviews);
+            }
+            return merged;
+        });
+        schedule(restaurantId, retryDelay);
+    }
+
+    private void release(List<PendingReview> batch) {
+        batch.forEach(pendingReview -> pendingReviewIds.remove(pendingReview.entry().review().getId()));
+        pendingCount.addAndGet(-batch.size());
+    }
+
+    private record PendingReview(ReviewJournal.Entry entry, long acceptedNanos, int attempts) {
+
+        PendingReview retried() {
+            return new PendingReview(entry, acceptedNanos, attempts + 1);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.restaurant.geocoding;
+
+import com.project.restaurant.domain.GeoLocation;
+import com.project.restaurant.domain.entities.Address;
+import com.project.restaurant.services.GeoLocationService;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deterministic stand-in for a remote geocoder. The same address always maps to the same
+ * point inside London, every call pays a fixed latency, and calls are recorded so tests can
+ * assert on cache hits and batch coalescing.
+ */
+public class FakeGeoLocationService implements GeoLocationService {
+
+    private static final double MIN_LATITUDE = 51.28;
+    private static final double LATITUDE_SPAN = 0.406;
+    private static final double MIN_LONGITUDE = -0.489;
+    private static final double LONGITUDE_SPAN = 0.725;
+
+    private final Duration latency;
+    private final AtomicInteger singleLookups = new AtomicInteger();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    public FakeGeoLocationService() {
+        this(Duration.ZERO);
+    }
+
+    public FakeGeoLocationService(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public GeoLocation geoLocate(Address address) {
+        singleLookups.incrementAndGet();
+        simulateLatency();
+        return locate(address);
+    }
+
+    @Override
+    public Map<Address, GeoLocation> geoLocateAll(Collection<Address> addresses) {
+        batchSizes.add(addresses.size());
+        simulateLatency();
+
+        Map<Address, GeoLocation> locations = new LinkedHashMap<>();
+        addresses.forEach(address -> locations.put(address, locate(address)));
+        return locations;
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
+    public int getSingleLookups() {
+        return singleLookups.get();
+    }
+
+    public List<Integer> getBatchSizes() {
+        return List.copyOf(batchSizes);
+    }
+
+    public int getTotalCalls() {
+        return singleLookups.get() + batchSizes.size();
+    }
+
+    private GeoLocation locate(Address address) {
+        int hash = address.hashCode();
+        double latitudeFraction = ((hash >>> 16) & 0xFFFF) / 65535.0;
+        double longitudeFraction = (hash & 0xFFFF) / 65535.0;
+
+        return GeoLocation.builder()
+                .latitude(MIN_LATITUDE + latitudeFraction * LATITUDE_SPAN)
+                .longitude(MIN_LONGITUDE + longitudeFraction * LONGITUDE_SPAN)
+                .build();
+    }
+
+    private void simulateLatency() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
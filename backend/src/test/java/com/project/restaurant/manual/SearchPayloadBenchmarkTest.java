@@ -0,0 +1,63 @@
+package com.project.restaurant.manual;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.repositories.RestaurantRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.function.Function;
+
+/**
+ * Compares a 20-item search page fetched as full documents against the
+ * source-filtered summary projection. Run manually against a populated index.
+ */
+@SpringBootTest
+public class SearchPayloadBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void compareFullDocumentsWithSummaryProjection() throws Exception {
+        Pageable pageable = PageRequest.of(0, 20);
+
+        measure("full documents", restaurantRepository::findAll, pageable);
+        measure("summary projection",
+                p -> restaurantRepository.search(new RestaurantSearchCriteria(), p),
+                pageable);
+    }
+
+    private void measure(String label, Function<Pageable, Page<Restaurant>> search, Pageable pageable) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            search.apply(pageable);
+        }
+
+        long totalNanos = 0;
+        Page<Restaurant> page = null;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            page = search.apply(pageable);
+            totalNanos += System.nanoTime() - start;
+        }
+
+        int payloadBytes = objectMapper.writeValueAsBytes(page.getContent()).length;
+
+        System.out.printf("%s: %d hits, ~%d bytes of source per page, %.2f ms mean latency%n",
+                label,
+                page.getNumberOfElements(),
+                payloadBytes,
+                totalNanos / (double) MEASURED_ITERATIONS / 1_000_000);
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.domain.GeoLocation;
+import com.project.restaurant.domain.entities.Address;
+import com.project.restaurant.geocoding.FakeGeoLocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingGeoLocationServiceTest {
+
+    private final FakeGeoLocationService geocoder = new FakeGeoLocationService(Duration.ofMillis(5));
+    private final ExecutorService batchExecutor = Executors.newFixedThreadPool(4);
+    private BatchingGeoLocationService batchingService;
+
+    @BeforeEach
+    void setUp() {
+        batchingService = new BatchingGeoLocationService(geocoder, batchExecutor, 50, Duration.ofMillis(100));
+        batchingService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchingService.close();
+        batchExecutor.shutdownNow();
+    }
+
+    @Test
+    void sendsALoneLookupWithoutWaitingForABatch() {
+        BatchingGeoLocationService slowBatcher = new BatchingGeoLocationService(
+                geocoder, batchExecutor, 50, Duration.ofSeconds(30));
+        slowBatcher.start();
+        try {
+            CompletableFuture<GeoLocation> lookup = CompletableFuture.supplyAsync(
+                    () -> slowBatcher.geoLocate(address("1", "Quiet Road")));
+
+            assertThat(lookup).succeedsWithin(Duration.ofSeconds(5));
+            assertThat(geocoder.getBatchSizes()).containsExactly(1);
+        } finally {
+            slowBatcher.close();
+        }
+    }
+
+    @Test
+    void coalescesConcurrentLookupsIntoBatches() {
+        List<Address> addresses = IntStream.range(0, 40).mapToObj(i -> address(String.valueOf(i), "High Street")).toList();
+
+        ExecutorService callers = Executors.newFixedThreadPool(addresses.size());
+        CyclicBarrier allReady = new CyclicBarrier(addresses.size());
+        try {
+            List<CompletableFuture<GeoLocation>> lookups = addresses.stream()
+                    .map(address -> CompletableFuture.supplyAsync(() -> {
+                        awaitQuietly(allReady);
+                        return batchingService.geoLocate(address);
+                    }, callers))
+                    .toList();
+
+            List<GeoLocation> locations = lookups.stream().map(CompletableFuture::join).toList();
+
+            assertThat(geocoder.getSingleLookups()).isZero();
+            assertThat(geocoder.getBatchSizes().size()).isLessThan(addresses.size());
+            assertThat(geocoder.getBatchSizes().stream().mapToInt(Integer::intValue).sum()).isEqualTo(addresses.size());
+            assertThat(locations.get(7)).isEqualTo(new FakeGeoLocationService().geoLocate(addresses.get(7)));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void looksUpSpellingVariantsOfAnAddressOnce() {
+        Address address = address("10", "Downing Street");
+        Address variant = address(" 10", "downing   STREET ");
+
+        Map<Address, GeoLocation> locations = batchingService.geoLocateAll(List.of(address, variant));
+
+        assertThat(geocoder.getBatchSizes()).containsExactly(1);
+        assertThat(locations.get(variant)).isEqualTo(locations.get(address));
+    }
+
+    @Test
+    void splitsBatchesAtMaxBatchSize() {
+        List<Address> addresses = IntStream.range(0, 120).mapToObj(i -> address(String.valueOf(i), "Long Lane")).toList();
+
+        assertThat(batchingService.geoLocateAll(addresses)).hasSize(addresses.size());
+        assertThat(geocoder.getBatchSizes()).allMatch(size -> size <= 50);
+    }
+
+    private static void awaitQuietly(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException | BrokenBarrierException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Address address(String streetNumber, String streetName) {
+        return Address.builder()
+                .streetNumber(streetNumber)
+                .streetName(streetName)
+                .city("London")
+                .postalCode("SW1A 2AA")
+                .country("UK")
+                .build();
+    }
+}
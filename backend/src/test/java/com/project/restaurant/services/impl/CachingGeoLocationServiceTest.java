@@ -0,0 +1,87 @@
+package com.project.restaurant.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.restaurant.domain.GeoLocation;
+import com.project.restaurant.domain.entities.Address;
+import com.project.restaurant.geocoding.FakeGeoLocationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static com.project.restaurant.services.impl.BatchingGeoLocationServiceTest.address;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingGeoLocationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void servesRepeatedAndRespelledAddressesFromTheCache() {
+        FakeGeoLocationService geocoder = new FakeGeoLocationService();
+        CachingGeoLocationService cachingService = cachingService(geocoder, "");
+
+        GeoLocation first = cachingService.geoLocate(address("10", "Downing Street"));
+        GeoLocation again = cachingService.geoLocate(address("10", " downing  street"));
+
+        assertThat(again).isEqualTo(first);
+        assertThat(geocoder.getTotalCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void batchLookupOnlySendsCacheMisses() {
+        FakeGeoLocationService geocoder = new FakeGeoLocationService();
+        CachingGeoLocationService cachingService = cachingService(geocoder, "");
+        Address cached = address("1", "Abbey Road");
+        cachingService.geoLocate(cached);
+
+        Map<Address, GeoLocation> locations = cachingService.geoLocateAll(
+                List.of(cached, address("2", "Abbey Road"), address("3", "Abbey Road")));
+
+        assertThat(locations).hasSize(3);
+        assertThat(geocoder.getBatchSizes()).containsExactly(2);
+    }
+
+    @Test
+    void restartRestoresGeocodesFromTheSnapshot() {
+        Path snapshot = directory.resolve("geocodes.json");
+        Address address = address("221B", "Baker Street");
+
+        CachingGeoLocationService beforeRestart = cachingService(new FakeGeoLocationService(), snapshot.toString());
+        GeoLocation location = beforeRestart.geoLocate(address);
+        beforeRestart.writeSnapshot();
+        assertThat(snapshot).exists();
+
+        FakeGeoLocationService geocoder = new FakeGeoLocationService();
+        CachingGeoLocationService afterRestart = cachingService(geocoder, snapshot.toString());
+        afterRestart.restoreSnapshot();
+
+        assertThat(afterRestart.geoLocate(address)).isEqualTo(location);
+        assertThat(geocoder.getTotalCalls()).isZero();
+    }
+
+    @Test
+    void corruptSnapshotStartsWithAnEmptyCache() throws Exception {
+        Path snapshot = Files.writeString(directory.resolve("geocodes.json"), "{not json");
+        FakeGeoLocationService geocoder = new FakeGeoLocationService();
+        CachingGeoLocationService cachingService = cachingService(geocoder, snapshot.toString());
+
+        cachingService.restoreSnapshot();
+        cachingService.geoLocate(address("1", "Abbey Road"));
+
+        assertThat(geocoder.getTotalCalls()).isEqualTo(1);
+    }
+
+    private CachingGeoLocationService cachingService(FakeGeoLocationService geocoder, String snapshotPath) {
+        CaffeineCache cache = new CaffeineCache("geocodes", Caffeine.newBuilder().build());
+        return new CachingGeoLocationService(geocoder, cache, objectMapper, snapshotPath);
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.config.CacheConfig;
+import com.project.restaurant.domain.RatingReconciliationReport;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.VersionedRatingStats;
+import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RatingReconciliationServiceImplTest {
+
+    private final RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.RESTAURANT_DETAILS);
+    private final RatingReconciliationServiceImpl reconciliationService =
+            new RatingReconciliationServiceImpl(restaurantRepository, reviewRepository, cacheManager);
+
+    @Test
+    void correctsDriftOnlyAgainstTheVersionThatWasRead() {
+        SeqNoPrimaryTerm drifted = new SeqNoPrimaryTerm(7, 1);
+        SeqNoPrimaryTerm changedMeanwhile = new SeqNoPrimaryTerm(9, 1);
+        when(restaurantRepository.findAllRatingStats()).thenReturn(Map.of(
+                "r1", new VersionedRatingStats(stats(2, 8), drifted),
+                "r2", new VersionedRatingStats(stats(1, 5), changedMeanwhile),
+                "r3", new VersionedRatingStats(stats(1, 3), new SeqNoPrimaryTerm(3, 1))));
+        when(reviewRepository.ratingStatsByRestaurant()).thenReturn(Map.of(
+                "r1", stats(3, 12),
+                "r2", stats(2, 9),
+                "r3", stats(1, 3)));
+        when(restaurantRepository.updateRatingStatsIfUnchanged(anyMap())).thenReturn(Set.of("r2"));
+        Cache restaurantDetails = cacheManager.getCache(CacheConfig.RESTAURANT_DETAILS);
+        List.of("r1", "r2", "r3").forEach(id -> restaurantDetails.put(id, id));
+
+        RatingReconciliationReport report = reconciliationService.reconcileRatings();
+
+        verify(restaurantRepository).updateRatingStatsIfUnchanged(Map.of(
+                "r1", new VersionedRatingStats(stats(3, 12), drifted),
+                "r2", new VersionedRatingStats(stats(2, 9), changedMeanwhile)));
+        assertThat(report.getDrifts()).extracting(drift -> drift.getRestaurantId())
+                .containsExactlyInAnyOrder("r1", "r2");
+        assertThat(report.getSkipped()).containsExactly("r2");
+        assertThat(restaurantDetails.get("r1")).isNull();
+        assertThat(restaurantDetails.get("r2")).isNotNull();
+        assertThat(restaurantDetails.get("r3")).isNotNull();
+    }
+
+    private static RatingStats stats(long count, long sum) {
+        RatingStats stats = RatingStats.empty();
+        stats.setCount(count);
+        stats.setSum(sum);
+        return stats;
+    }
+}
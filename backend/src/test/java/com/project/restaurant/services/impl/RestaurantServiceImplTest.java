@@ -0,0 +1,144 @@
+package com.project.restaurant.services.impl;
+
+import com.project.restaurant.domain.GeoLocation;
+import com.project.restaurant.domain.RestaurantCreateResult;
+import com.project.restaurant.domain.RestaurantCreateUpdateRequest;
+import com.project.restaurant.domain.entities.Address;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.geocoding.FakeGeoLocationService;
+import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RestaurantServiceImplTest {
+
+    private final List<Restaurant> savedRestaurants = new ArrayList<>();
+
+    private RestaurantRepository restaurantRepository;
+    private FakeGeoLocationService geoLocationService;
+    private RestaurantServiceImpl restaurantService;
+
+    @BeforeEach
+    void setUp() {
+        restaurantRepository = mock(RestaurantRepository.class);
+        doAnswer(invocation -> {
+            List<Restaurant> restaurants = invocation.getArgument(0);
+            savedRestaurants.addAll(restaurants);
+            return restaurants;
+        }).when(restaurantRepository).saveAll(anyList(), eq(RefreshPolicy.NONE));
+
+        // Addresses in "Nowhere" cannot be geocoded
+        geoLocationService = new FakeGeoLocationService() {
+            @Override
+            public GeoLocation geoLocate(Address address) {
+                if ("Nowhere".equals(address.getCity())) {
+                    throw new IllegalStateException("No match for address");
+                }
+                return super.geoLocate(address);
+            }
+        };
+        restaurantService = new RestaurantServiceImpl(
+                restaurantRepository,
+                mock(ReviewRepository.class),
+                geoLocationService,
+                new RestaurantWriteRetrier(new SimpleMeterRegistry()),
+                Runnable::run);
+    }
+
+    @Test
+    void createRestaurantsFailsOnlyRequestsThatCannotBeGeocoded() {
+        List<RestaurantCreateResult> results = restaurantService.createRestaurants(List.of(
+                request("First", "London"), request("Second", "Nowhere"), request("Third", "London")));
+
+        assertThat(results).extracting(RestaurantCreateResult::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(1).getError()).contains("No match for address");
+        assertThat(savedRestaurants).extracting(Restaurant::getName).containsExactly("First", "Third");
+    }
+
+    @Test
+    void createRestaurantsFailsOnlyDocumentsRejectedByTheBulkRequest() {
+        doAnswer(invocation -> {
+            List<Restaurant> restaurants = invocation.getArgument(0);
+            throw new BulkFailureException("Bulk operation has failures", Map.of(
+                    restaurants.get(1).getId(),
+                    new BulkFailureException.FailureDetails(400, "mapper_parsing_exception")));
+        }).when(restaurantRepository).saveAll(anyList(), eq(RefreshPolicy.NONE));
+
+        List<RestaurantCreateResult> results = restaurantService.createRestaurants(List.of(
+                request("First", "London"), request("Second", "London"), request("Third", "London")));
+
+        assertThat(results).extracting(RestaurantCreateResult::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(1).getError()).isEqualTo("mapper_parsing_exception");
+        assertThat(results.get(0).getRestaurant().getId()).isNotNull();
+    }
+
+    @Test
+    void updateRestaurantKeepsTheLocationWhenTheAddressIsOnlyRespelled() {
+        Restaurant existing = existingRestaurant();
+        RestaurantCreateUpdateRequest request = request("Renamed", "London");
+        request.getAddress().setStreetName("  renamed   STREET ");
+        existing.getAddress().setStreetName("Renamed Street");
+        when(restaurantRepository.findById("r1")).thenReturn(Optional.of(existing));
+        when(restaurantRepository.save(any(Restaurant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Restaurant updated = restaurantService.updateRestaurant("r1", request);
+
+        assertThat(geoLocationService.getTotalCalls()).isZero();
+        assertThat(updated.getGeoLocation()).isEqualTo(new GeoPoint(51.5, -0.1));
+    }
+
+    @Test
+    void updateRestaurantGeocodesAMovedAddress() {
+        Restaurant existing = existingRestaurant();
+        when(restaurantRepository.findById("r1")).thenReturn(Optional.of(existing));
+        when(restaurantRepository.save(any(Restaurant.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Restaurant updated = restaurantService.updateRestaurant("r1", request("Moved", "London"));
+
+        assertThat(geoLocationService.getSingleLookups()).isEqualTo(1);
+        assertThat(updated.getGeoLocation()).isNotEqualTo(new GeoPoint(51.5, -0.1));
+    }
+
+    private static Restaurant existingRestaurant() {
+        return Restaurant.builder()
+                .id("r1")
+                .name("Original")
+                .address(request("Original", "London").getAddress())
+                .geoLocation(new GeoPoint(51.5, -0.1))
+                .build();
+    }
+
+    static RestaurantCreateUpdateRequest request(String name, String city) {
+        return RestaurantCreateUpdateRequest.builder()
+                .name(name)
+                .cuisineType("Italian")
+                .contactInformation("020 7946 0000")
+                .address(Address.builder()
+                        .streetNumber("1")
+                        .streetName(name + " Street")
+                        .city(city)
+                        .postalCode("SW1A 1AA")
+                        .country("UK")
+                        .build())
+                .photoIds(List.of())
+                .build();
+    }
+}
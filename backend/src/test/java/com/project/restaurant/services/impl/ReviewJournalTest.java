@@ -0,0 +1,101 @@
+package com.project.restaurant.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.domain.entities.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewJournalTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversOnlyUnflushedReviewsAfterCrash() {
+        ReviewJournal journal = new ReviewJournal(directory, 1024 * 1024, objectMapper);
+        journal.recover();
+        ReviewJournal.Entry first = journal.append(review("r1", "u1"));
+        journal.append(review("r1", "u2"));
+        ReviewJournal.Entry third = journal.append(review("r2", "u1"));
+        journal.markFlushed(List.of(first, third));
+        // No close(): the process dies here
+
+        List<ReviewJournal.Entry> recovered = new ReviewJournal(directory, 1024 * 1024, objectMapper).recover();
+
+        assertThat(recovered).extracting(entry -> entry.review().getId()).containsExactly("r1_u2");
+    }
+
+    @Test
+    void cleanShutdownLeavesNothingToReplayOnceFlushed() throws IOException {
+        ReviewJournal journal = new ReviewJournal(directory, 1024 * 1024, objectMapper);
+        journal.recover();
+        ReviewJournal.Entry entry = journal.append(review("r1", "u1"));
+        journal.markFlushed(List.of(entry));
+        journal.close();
+
+        assertThat(segmentFiles()).isEmpty();
+        assertThat(new ReviewJournal(directory, 1024 * 1024, objectMapper).recover()).isEmpty();
+    }
+
+    @Test
+    void rotatesAndDeletesFlushedSegments() throws IOException {
+        ReviewJournal journal = new ReviewJournal(directory, 200, objectMapper);
+        journal.recover();
+        ReviewJournal.Entry first = journal.append(review("r1", "u1"));
+        ReviewJournal.Entry second = journal.append(review("r1", "u2"));
+        assertThat(segmentFiles()).hasSize(2);
+
+        journal.markFlushed(List.of(first));
+        assertThat(segmentFiles()).hasSize(1);
+
+        journal.markFlushed(List.of(second));
+        journal.close();
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    @Test
+    void continuesSequenceNumbersAfterRecovery() {
+        ReviewJournal journal = new ReviewJournal(directory, 1024 * 1024, objectMapper);
+        journal.recover();
+        journal.append(review("r1", "u1"));
+        journal.close();
+
+        ReviewJournal recovered = new ReviewJournal(directory, 1024 * 1024, objectMapper);
+        ReviewJournal.Entry replayed = recovered.recover().getFirst();
+        ReviewJournal.Entry appended = recovered.append(review("r1", "u2"));
+
+        assertThat(appended.sequence()).isGreaterThan(replayed.sequence());
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).toList();
+        }
+    }
+
+    static Review review(String restaurantId, String userId) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        return Review.builder()
+                .id(Review.idFor(restaurantId, userId))
+                .restaurantId(restaurantId)
+                .content("Good food")
+                .rating(4)
+                .datePosted(now)
+                .lastEdited(now)
+                .writtenBy(new User(userId, userId, "First", "Last"))
+                .build();
+    }
+}
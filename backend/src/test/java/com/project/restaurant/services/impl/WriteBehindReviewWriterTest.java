@@ -0,0 +1,190 @@
+package com.project.restaurant.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.VersionedRatingStats;
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WriteBehindReviewWriterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final Map<String, Review> storedReviews = new ConcurrentHashMap<>();
+
+    private RestaurantRepository restaurantRepository;
+    private ReviewRepository reviewRepository;
+
+    @TempDir
+    Path journalDir;
+
+    @BeforeEach
+    void setUp() {
+        restaurantRepository = mock(RestaurantRepository.class);
+        reviewRepository = mock(ReviewRepository.class);
+
+        // Behaves like op_type=create: existing reviews are left alone
+        doAnswer(invocation -> {
+            List<Review> reviews = invocation.getArgument(0);
+            reviews.forEach(review -> storedReviews.putIfAbsent(review.getId(), review));
+            return null;
+        }).when(reviewRepository).createAll(anyList());
+        when(reviewRepository.existsById(anyString()))
+                .thenAnswer(invocation -> storedReviews.containsKey(invocation.<String>getArgument(0)));
+        when(reviewRepository.ratingStatsForRestaurant(anyString()))
+                .thenAnswer(invocation -> RatingStats.of(storedReviews.values().stream()
+                        .filter(review -> review.getRestaurantId().equals(invocation.getArgument(0)))
+                        .toList()));
+        when(restaurantRepository.existsById(anyString())).thenReturn(true);
+        when(restaurantRepository.findSeqNoPrimaryTerm(anyString())).thenReturn(Optional.of(new SeqNoPrimaryTerm(1, 1)));
+    }
+
+    @Test
+    void restartDoesNotReplayFlushedReviewsOverEditsAndDeletes() {
+        WriteBehindReviewWriter writer = writer();
+        writer.start();
+        writer.create(ReviewJournalTest.review("r1", "u1"));
+        writer.create(ReviewJournalTest.review("r1", "u2"));
+        writer.stop();
+        assertThat(storedReviews).containsOnlyKeys("r1_u1", "r1_u2");
+
+        // Edited and deleted after the flush, outside the writer
+        storedReviews.get("r1_u1").setContent("Edited");
+        storedReviews.remove("r1_u2");
+
+        WriteBehindReviewWriter restarted = writer();
+        restarted.start();
+        restarted.stop();
+
+        assertThat(storedReviews).containsOnlyKeys("r1_u1");
+        assertThat(storedReviews.get("r1_u1").getContent()).isEqualTo("Edited");
+    }
+
+    @Test
+    void replaysReviewsThatWereNotFlushed() {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("Elasticsearch unavailable");
+        }).when(reviewRepository).createAll(anyList());
+
+        WriteBehindReviewWriter writer = writer();
+        writer.start();
+        writer.create(ReviewJournalTest.review("r1", "u1"));
+        writer.stop();
+        assertThat(storedReviews).isEmpty();
+
+        doAnswer(invocation -> {
+            List<Review> reviews = invocation.getArgument(0);
+            reviews.forEach(review -> storedReviews.putIfAbsent(review.getId(), review));
+            return null;
+        }).when(reviewRepository).createAll(anyList());
+
+        WriteBehindReviewWriter restarted = writer();
+        restarted.start();
+        restarted.stop();
+
+        assertThat(storedReviews).containsOnlyKeys("r1_u1");
+    }
+
+    @Test
+    void recomputesTheRatingWhenTheRestaurantChangedConcurrently() {
+        SeqNoPrimaryTerm stale = new SeqNoPrimaryTerm(1, 1);
+        SeqNoPrimaryTerm current = new SeqNoPrimaryTerm(2, 1);
+        when(restaurantRepository.findSeqNoPrimaryTerm("r1")).thenReturn(Optional.of(stale), Optional.of(current));
+        when(restaurantRepository.updateRatingStatsIfUnchanged(anyMap())).thenReturn(Set.of("r1"), Set.of());
+
+        WriteBehindReviewWriter writer = writer();
+        writer.start();
+        writer.create(ReviewJournalTest.review("r1", "u1"));
+        writer.stop();
+
+        ArgumentCaptor<Map<String, VersionedRatingStats>> writes = ArgumentCaptor.captor();
+        verify(restaurantRepository, times(2)).updateRatingStatsIfUnchanged(writes.capture());
+        assertThat(writes.getAllValues()).extracting(write -> write.get("r1").getSeqNoPrimaryTerm())
+                .containsExactly(stale, current);
+        assertThat(writes.getValue().get("r1").getStats().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deadLettersReviewsForDeletedRestaurants() {
+        when(restaurantRepository.findSeqNoPrimaryTerm("r1")).thenReturn(Optional.empty());
+        when(restaurantRepository.existsById("r1")).thenReturn(false);
+
+        WriteBehindReviewWriter writer = writer();
+        writer.start();
+        writer.create(ReviewJournalTest.review("r1", "u1"));
+        writer.stop();
+
+        assertThat(journalDir.resolve("dead-letter.log")).content().contains("r1_u1");
+        storedReviews.clear();
+        WriteBehindReviewWriter restarted = writer();
+        restarted.start();
+        restarted.stop();
+        assertThat(storedReviews).isEmpty();
+    }
+
+    @Test
+    void deadLettersReviewsOnceAttemptsAreExhausted() {
+        doAnswer(invocation -> {
+            throw new IllegalStateException("Elasticsearch unavailable");
+        }).when(reviewRepository).createAll(anyList());
+
+        WriteBehindReviewWriter writer = writer(1);
+        writer.start();
+        writer.create(ReviewJournalTest.review("r1", "u1"));
+        writer.stop();
+
+        assertThat(journalDir.resolve("dead-letter.log")).content().contains("r1_u1");
+        assertThat(new ReviewJournal(journalDir, 1024 * 1024, objectMapper).recover()).isEmpty();
+    }
+
+    private WriteBehindReviewWriter writer() {
+        return writer(20);
+    }
+
+    private WriteBehindReviewWriter writer(int maxAttempts) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RestaurantWriteRetrier restaurantWriteRetrier = new RestaurantWriteRetrier(meterRegistry);
+        ReflectionTestUtils.setField(restaurantWriteRetrier, "maxAttempts", 3);
+        return new WriteBehindReviewWriter(
+                restaurantRepository,
+                reviewRepository,
+                restaurantWriteRetrier,
+                new ConcurrentMapCacheManager(),
+                objectMapper,
+                meterRegistry,
+                journalDir,
+                DataSize.ofMegabytes(1),
+                Duration.ofMillis(10),
+                Duration.ofMillis(10),
+                maxAttempts,
+                2);
+    }
+}
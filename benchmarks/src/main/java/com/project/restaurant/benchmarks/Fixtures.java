@@ -0,0 +1,75 @@
+package com.project.restaurant.benchmarks;
+
+import com.project.restaurant.domain.entities.Address;
+import com.project.restaurant.domain.entities.EmbeddedReview;
+import com.project.restaurant.domain.entities.OperatingHours;
+import com.project.restaurant.domain.entities.Photo;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.domain.entities.TimeRange;
+import com.project.restaurant.domain.entities.User;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic test data for the benchmarks, so runs on different releases measure the same input.
+ */
+final class Fixtures {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static Restaurant restaurant(String id, int reviewCount) {
+        List<EmbeddedReview> reviews = reviews(id, reviewCount).stream()
+                .map(review -> new EmbeddedReview(review.getId(), review.getContent(), review.getRating(),
+                        review.getDatePosted(), review.getLastEdited(), review.getPhotos(), review.getWrittenBy()))
+                .toList();
+        TimeRange hours = new TimeRange("09:00", "22:00");
+        return Restaurant.builder()
+                .id(id)
+                .name("Restaurant " + id)
+                .cuisineType("Italian")
+                .contactInformation("+44 20 7946 0000")
+                .averageRating(3.5f)
+                .totalReviews(reviewCount)
+                .ratingHistogram(new HashMap<>())
+                .geoLocation(new GeoPoint(51.5074, -0.1278))
+                .address(new Address("221B", "Baker Street", null, "London", "Greater London", "NW1 6XE", "UK"))
+                .operatingHours(new OperatingHours(hours, hours, hours, hours, hours, hours, hours))
+                .photos(new ArrayList<>(List.of(
+                        new Photo("a1b2c3d4.jpg", EPOCH),
+                        new Photo("e5f6a7b8.jpg", EPOCH))))
+                .reviews(reviews)
+                .writtenBy(user("owner-" + id))
+                .build();
+    }
+
+    static List<Review> reviews(String restaurantId, int count) {
+        Random random = new Random(42);
+        List<Review> reviews = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reviews.add(Review.builder()
+                    .id(restaurantId + "-review-" + i)
+                    .restaurantId(restaurantId)
+                    .content("Review number " + i + " with a few sentences about the food and the service.")
+                    .rating(1 + random.nextInt(5))
+                    .datePosted(EPOCH.plusMinutes(random.nextInt(500_000)))
+                    .lastEdited(EPOCH.plusMinutes(random.nextInt(500_000)))
+                    .photos(new ArrayList<>())
+                    .writtenBy(user("user-" + i))
+                    .build());
+        }
+        return reviews;
+    }
+
+    private static User user(String id) {
+        return new User(id, id, "First", "Last");
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.restaurant.benchmarks;
+
+import com.project.restaurant.domain.dtos.RestaurantDto;
+import com.project.restaurant.domain.dtos.RestaurantSummaryDto;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.mappers.RestaurantMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int reviewCount;
+
+    private RestaurantMapper mapper;
+    private Restaurant restaurant;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(RestaurantMapper.class);
+        restaurant = Fixtures.restaurant("restaurant-1", reviewCount);
+    }
+
+    @Benchmark
+    public RestaurantDto toRestaurantDto() {
+        return mapper.toRestaurantDto(restaurant);
+    }
+
+    @Benchmark
+    public RestaurantSummaryDto toSummaryDto() {
+        return mapper.toSummaryDto(restaurant);
+    }
+}
@@ -0,0 +1,55 @@
+package com.project.restaurant.benchmarks;
+
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.entities.Review;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recomputing a restaurant's rating aggregate from all of its reviews, as reconciliation
+ * does, with the incremental update applied on every review write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingStatsBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int reviewCount;
+
+    private List<Review> reviews;
+    private RatingStats stats;
+
+    @Setup
+    public void setUp() {
+        reviews = Fixtures.reviews("restaurant-1", reviewCount);
+        stats = RatingStats.of(reviews);
+    }
+
+    @Benchmark
+    public float recompute() {
+        return RatingStats.of(reviews).average();
+    }
+
+    @Benchmark
+    public float incrementalUpdate() {
+        // Edit a review from 2 to 5 stars and back so the state stays the same across invocations
+        stats.apply(2, 5);
+        return stats.apply(5, 2).average();
+    }
+}
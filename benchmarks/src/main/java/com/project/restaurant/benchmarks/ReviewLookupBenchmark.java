@@ -0,0 +1,83 @@
+package com.project.restaurant.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.project.restaurant.domain.entities.EmbeddedReview;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.domain.entities.Review;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of fetching one review: reading the whole restaurant document and scanning its
+ * embedded reviews, by id or by posting time as review creation used to, against reading the
+ * single review document a lookup in the reviews index returns. Elasticsearch time is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReviewLookupBenchmark {
+
+    @Param({"1000", "10000"})
+    private int reviewCount;
+
+    private ObjectMapper objectMapper;
+    private byte[] restaurantDocument;
+    private byte[] reviewDocument;
+    private String reviewId;
+    private LocalDateTime datePosted;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        Restaurant restaurant = Fixtures.restaurant("restaurant-1", reviewCount);
+        // GeoPoint has no Jackson creator, and the location plays no part in the lookup
+        restaurant.setGeoLocation(null);
+        Review review = Fixtures.reviews("restaurant-1", reviewCount).get(reviewCount / 2);
+
+        restaurantDocument = objectMapper.writeValueAsBytes(restaurant);
+        reviewDocument = objectMapper.writeValueAsBytes(review);
+        reviewId = review.getId();
+        datePosted = review.getDatePosted();
+    }
+
+    @Benchmark
+    public Optional<EmbeddedReview> embeddedScanById() throws IOException {
+        return objectMapper.readValue(restaurantDocument, Restaurant.class).getReviews().stream()
+                .filter(review -> reviewId.equals(review.getId()))
+                .findFirst();
+    }
+
+    @Benchmark
+    public Optional<EmbeddedReview> embeddedScanByDatePosted() throws IOException {
+        return objectMapper.readValue(restaurantDocument, Restaurant.class).getReviews().stream()
+                .filter(review -> datePosted.equals(review.getDatePosted()))
+                .findFirst();
+    }
+
+    @Benchmark
+    public Review reviewDocument() throws IOException {
+        return objectMapper.readValue(reviewDocument, Review.class);
+    }
+}
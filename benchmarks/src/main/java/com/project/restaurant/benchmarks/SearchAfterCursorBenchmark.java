@@ -0,0 +1,48 @@
+package com.project.restaurant.benchmarks;
+
+import com.project.restaurant.repositories.SearchAfterCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Review listings are sorted by Elasticsearch and paged with search_after, so the per-request
+ * sorting cost left in the application is encoding and decoding the cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchAfterCursorBenchmark {
+
+    private List<Object> sortValues;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        sortValues = List.of(1718900000000L, 4, "restaurant-1-review-9999");
+        cursor = SearchAfterCursor.encode(sortValues);
+    }
+
+    @Benchmark
+    public String encode() {
+        return SearchAfterCursor.encode(sortValues);
+    }
+
+    @Benchmark
+    public List<Object> decode() {
+        return SearchAfterCursor.decode(cursor);
+    }
+}
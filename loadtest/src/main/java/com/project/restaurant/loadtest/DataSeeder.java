@@ -0,0 +1,157 @@
+package com.project.restaurant.loadtest;
+
+import com.project.restaurant.domain.RestaurantCreateResult;
+import com.project.restaurant.domain.RestaurantCreateUpdateRequest;
+import com.project.restaurant.domain.ReviewCreateUpdateRequest;
+import com.project.restaurant.domain.entities.Address;
+import com.project.restaurant.domain.entities.OperatingHours;
+import com.project.restaurant.domain.entities.TimeRange;
+import com.project.restaurant.domain.entities.User;
+import com.project.restaurant.services.PhotoService;
+import com.project.restaurant.services.RestaurantService;
+import com.project.restaurant.services.ReviewService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds photos, restaurants and reviews through the service layer, so the stored documents
+ * carry the same derived data (geolocation, suggestions, rating aggregates) as real ones.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataSeeder {
+
+    static final List<String> CUISINES = List.of(
+            "Italian", "Indian", "Japanese", "Mexican", "French",
+            "Thai", "Chinese", "Greek", "Lebanese", "Spanish");
+
+    private static final List<String> NAME_PREFIXES = List.of(
+            "The Golden", "Little", "Royal", "Blue", "Old Town", "Corner", "Garden", "Harbour");
+    private static final int BATCH_SIZE = 500;
+    private static final int PHOTOS_PER_RESTAURANT = 2;
+
+    private final RestaurantService restaurantService;
+    private final ReviewService reviewService;
+    private final PhotoService photoService;
+
+    @Value("${loadtest.restaurants:1000}")
+    private int restaurantCount;
+
+    @Value("${loadtest.reviews-per-restaurant:20}")
+    private int reviewsPerRestaurant;
+
+    @Value("${loadtest.photos:50}")
+    private int photoCount;
+
+    public SeededData seed() {
+        Random random = new Random(42);
+
+        List<String> photoIds = seedPhotos(random);
+        List<String> restaurantIds = seedRestaurants(random, photoIds);
+        seedReviews(random, restaurantIds);
+
+        log.info("Seeded {} restaurants with {} reviews each and {} photos",
+                restaurantIds.size(), reviewsPerRestaurant, photoIds.size());
+        return new SeededData(restaurantIds, photoIds);
+    }
+
+    private List<String> seedPhotos(Random random) {
+        List<String> photoIds = new ArrayList<>(photoCount);
+        for (int i = 0; i < photoCount; i++) {
+            byte[] image = jpeg(new Color(random.nextInt(0xFFFFFF)), i);
+            photoIds.add(photoService.uploadPhoto(new ByteArrayInputStream(image), "image/jpeg", image.length).getUrl());
+        }
+        return photoIds;
+    }
+
+    private List<String> seedRestaurants(Random random, List<String> photoIds) {
+        List<String> restaurantIds = new ArrayList<>(restaurantCount);
+        List<RestaurantCreateUpdateRequest> batch = new ArrayList<>(BATCH_SIZE);
+
+        for (int i = 0; i < restaurantCount; i++) {
+            batch.add(restaurantRequest(random, i, photoIds));
+            if (batch.size() == BATCH_SIZE || i == restaurantCount - 1) {
+                restaurantService.createRestaurants(batch).stream()
+                        .filter(RestaurantCreateResult::isSuccess)
+                        .map(result -> result.getRestaurant().getId())
+                        .forEach(restaurantIds::add);
+                batch.clear();
+            }
+        }
+        return restaurantIds;
+    }
+
+    private void seedReviews(Random random, List<String> restaurantIds) {
+        for (String restaurantId : restaurantIds) {
+            for (int i = 0; i < reviewsPerRestaurant; i++) {
+                User author = new User("seed-user-" + i, "seed-user-" + i, "Seed", "User");
+                ReviewCreateUpdateRequest review = ReviewCreateUpdateRequest.builder()
+                        .content("Seeded review " + i + ": the food was good and the service was friendly.")
+                        .rating(1 + random.nextInt(5))
+                        .photoIds(List.of())
+                        .build();
+                reviewService.createReview(author, restaurantId, review);
+            }
+        }
+    }
+
+    private RestaurantCreateUpdateRequest restaurantRequest(Random random, int index, List<String> photoIds) {
+        String cuisine = CUISINES.get(random.nextInt(CUISINES.size()));
+        TimeRange hours = new TimeRange("11:00", "23:00");
+
+        List<String> photos = new ArrayList<>(PHOTOS_PER_RESTAURANT);
+        for (int i = 0; i < PHOTOS_PER_RESTAURANT && !photoIds.isEmpty(); i++) {
+            photos.add(photoIds.get(random.nextInt(photoIds.size())));
+        }
+
+        return RestaurantCreateUpdateRequest.builder()
+                .name(NAME_PREFIXES.get(random.nextInt(NAME_PREFIXES.size())) + " " + cuisine + " " + index)
+                .cuisineType(cuisine)
+                .contactInformation("+44 20 7946 " + String.format("%04d", index % 10_000))
+                .address(new Address(String.valueOf(1 + index % 300), "High Street", null,
+                        "London", "Greater London", "E1 " + (index % 9 + 1) + "AA", "United Kingdom"))
+                .operatingHours(new OperatingHours(hours, hours, hours, hours, hours, hours, hours))
+                .photoIds(photos)
+                .build();
+    }
+
+    // Every image differs in colour and label, so each one is stored under its own content address
+    private static byte[] jpeg(Color color, int index) {
+        BufferedImage image = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(color);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.setColor(Color.WHITE);
+            graphics.drawString("load test photo " + index, 40, 60);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpg", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public record SeededData(List<String> restaurantIds, List<String> photoIds) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.project.restaurant.loadtest;
+
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Map-backed stand-in for an Elasticsearch repository. Like the real index it hands out copies
+ * rather than the stored documents, assigns a new sequence number on every write and rejects
+ * writes carrying a stale {@link SeqNoPrimaryTerm}, so the services' optimistic-locking and
+ * retry paths behave as they do against a cluster. Refresh policies are irrelevant here and ignored.
+ */
+abstract class InMemoryElasticsearchRepository<T> implements ElasticsearchRepository<T, String> {
+
+    private static final long PRIMARY_TERM = 1L;
+
+    protected final ConcurrentNavigableMap<String, T> documents = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequenceNumbers = new AtomicLong();
+
+    protected abstract String getId(T document);
+
+    protected abstract void setId(T document, String id);
+
+    protected abstract SeqNoPrimaryTerm getSeqNoPrimaryTerm(T document);
+
+    protected abstract void setSeqNoPrimaryTerm(T document, SeqNoPrimaryTerm seqNoPrimaryTerm);
+
+    protected abstract T copy(T document);
+
+    @Override
+    public <S extends T> S save(S entity) {
+        if (getId(entity) == null) {
+            setId(entity, UUID.randomUUID().toString());
+        }
+        documents.compute(getId(entity), (id, current) -> {
+            SeqNoPrimaryTerm expected = getSeqNoPrimaryTerm(entity);
+            if (expected != null && (current == null || !expected.equals(getSeqNoPrimaryTerm(current)))) {
+                throw new OptimisticLockingFailureException("Version conflict on document " + id);
+            }
+            setSeqNoPrimaryTerm(entity, nextSeqNoPrimaryTerm());
+            return copy(entity);
+        });
+        onSave(entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> S save(S entity, RefreshPolicy refreshPolicy) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> Iterable<S> saveAll(Iterable<S> entities, RefreshPolicy refreshPolicy) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(documents.get(id)).map(this::copy);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return documents.containsKey(id);
+    }
+
+    @Override
+    public Iterable<T> findAll() {
+        return find(document -> true).toList();
+    }
+
+    @Override
+    public Iterable<T> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(documents::get)
+                .filter(Objects::nonNull)
+                .map(this::copy)
+                .toList();
+    }
+
+    @Override
+    public Iterable<T> findAll(Sort sort) {
+        return find(document -> true).sorted(comparator(sort)).toList();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return page(find(document -> true).sorted(comparator(pageable.getSort())).toList(), pageable);
+    }
+
+    @Override
+    public Page<T> searchSimilar(T entity, String[] fields, Pageable pageable) {
+        throw new UnsupportedOperationException("More-like-this queries are not used by the application");
+    }
+
+    @Override
+    public long count() {
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        T removed = documents.remove(id);
+        if (removed != null) {
+            onRemove(removed);
+        }
+    }
+
+    @Override
+    public void deleteById(String id, RefreshPolicy refreshPolicy) {
+        deleteById(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(getId(entity));
+    }
+
+    @Override
+    public void delete(T entity, RefreshPolicy refreshPolicy) {
+        delete(entity);
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids, RefreshPolicy refreshPolicy) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities, RefreshPolicy refreshPolicy) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAll() {
+        documents.keySet().forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(RefreshPolicy refreshPolicy) {
+        deleteAll();
+    }
+
+    // Counterpart of an op_type=create index request: stores the document only if its id is unused
+    protected boolean insertIfAbsent(T entity) {
+        setSeqNoPrimaryTerm(entity, nextSeqNoPrimaryTerm());
+        if (documents.putIfAbsent(getId(entity), copy(entity)) != null) {
+            return false;
+        }
+        onSave(entity);
+        return true;
+    }
+
+    // Hooks for secondary indexes kept by subclasses
+    protected void onSave(T document) {
+    }
+
+    protected void onRemove(T document) {
+    }
+
+    protected Stream<T> find(Predicate<T> filter) {
+        return documents.values().stream()
+                .filter(filter)
+                .map(this::copy);
+    }
+
+    // Orders by the sort's (possibly nested) properties with missing values last, as Elasticsearch
+    // does by default; ties and unsorted requests keep id order
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected static <D> Comparator<D> comparator(Sort sort) {
+        Comparator<D> comparator = (first, second) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> values = order.isAscending()
+                    ? Comparator.naturalOrder()
+                    : Comparator.reverseOrder();
+            comparator = comparator.thenComparing(
+                    document -> sortValue(document, order),
+                    Comparator.nullsLast(values));
+        }
+        return comparator;
+    }
+
+    private static Comparable sortValue(Object document, Sort.Order order) {
+        Object value = PropertyAccessorFactory.forBeanPropertyAccess(document).getPropertyValue(order.getProperty());
+        if (value instanceof String text && order.isIgnoreCase()) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        return (Comparable) value;
+    }
+
+    protected SeqNoPrimaryTerm nextSeqNoPrimaryTerm() {
+        return new SeqNoPrimaryTerm(sequenceNumbers.incrementAndGet(), PRIMARY_TERM);
+    }
+
+    protected static <D> Page<D> page(List<D> matches, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(matches, pageable, matches.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+}
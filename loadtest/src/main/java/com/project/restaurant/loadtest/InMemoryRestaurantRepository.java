@@ -0,0 +1,239 @@
+package com.project.restaurant.loadtest;
+
+import com.project.restaurant.domain.CursorPage;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.RestaurantSearchCriteria;
+import com.project.restaurant.domain.RestaurantSuggestion;
+import com.project.restaurant.domain.VersionedRatingStats;
+import com.project.restaurant.domain.entities.Restaurant;
+import com.project.restaurant.repositories.PointInTimeCursor;
+import com.project.restaurant.repositories.RestaurantRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link RestaurantRepository}. Search approximates the Elasticsearch query with
+ * case-insensitive substring matching on name and cuisine, the rating filter and a haversine
+ * radius filter; relevance ordering is replaced by id order. Scrolling resumes after the last
+ * hit's sort values like search_after, but over live data rather than a point-in-time snapshot.
+ */
+public class InMemoryRestaurantRepository extends InMemoryElasticsearchRepository<Restaurant>
+        implements RestaurantRepository {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final String NO_POINT_IN_TIME = "in-memory";
+
+    @Override
+    public Page<Restaurant> search(RestaurantSearchCriteria criteria, Pageable pageable) {
+        return page(sortedMatches(criteria).toList(), pageable);
+    }
+
+    @Override
+    public CursorPage<Restaurant> scroll(RestaurantSearchCriteria criteria, int size, String cursor) {
+        PointInTimeCursor position = PointInTimeCursor.decode(cursor);
+        boolean byDistance = criteria.isSortByDistance() && criteria.hasLocation();
+
+        List<Restaurant> restaurants = sortedMatches(criteria)
+                .filter(restaurant -> position == null
+                        || compare(sortValues(restaurant, byDistance), position.searchAfter()) > 0)
+                .limit(size)
+                .toList();
+
+        String nextCursor = restaurants.size() < size
+                ? null
+                : new PointInTimeCursor(NO_POINT_IN_TIME, sortValues(restaurants.getLast(), byDistance)).encode();
+
+        return new CursorPage<>(restaurants, nextCursor);
+    }
+
+    @Override
+    public List<RestaurantSuggestion> suggest(String prefix, int size) {
+        String normalizedPrefix = prefix.toLowerCase(Locale.ROOT);
+        return documents.values().stream()
+                .filter(restaurant -> restaurant.getName() != null
+                        && restaurant.getName().toLowerCase(Locale.ROOT).startsWith(normalizedPrefix))
+                .limit(size)
+                .map(restaurant -> new RestaurantSuggestion(restaurant.getId(), restaurant.getName()))
+                .toList();
+    }
+
+    @Override
+    public void applyRatingChange(String restaurantId, Integer removedRating, Integer addedRating) {
+        documents.computeIfPresent(restaurantId, (id, restaurant) -> {
+            RatingStats stats = ratingStats(restaurant).apply(removedRating, addedRating);
+            return withRatingStats(restaurant, stats);
+        });
+    }
+
+    @Override
+    public Map<String, VersionedRatingStats> findAllRatingStats() {
+        return documents.values().stream()
+                .collect(Collectors.toMap(Restaurant::getId,
+                        restaurant -> new VersionedRatingStats(ratingStats(restaurant), restaurant.getSeqNoPrimaryTerm())));
+    }
+
+    @Override
+    public Optional<SeqNoPrimaryTerm> findSeqNoPrimaryTerm(String restaurantId) {
+        return Optional.ofNullable(documents.get(restaurantId)).map(Restaurant::getSeqNoPrimaryTerm);
+    }
+
+    @Override
+    public Set<String> updateRatingStatsIfUnchanged(Map<String, VersionedRatingStats> ratingStatsByRestaurant) {
+        Set<String> skipped = new HashSet<>();
+        ratingStatsByRestaurant.forEach((restaurantId, versioned) ->
+                documents.computeIfPresent(restaurantId, (id, restaurant) -> {
+                    if (!versioned.getSeqNoPrimaryTerm().equals(restaurant.getSeqNoPrimaryTerm())) {
+                        skipped.add(id);
+                        return restaurant;
+                    }
+                    return withRatingStats(restaurant, versioned.getStats());
+                }));
+        return skipped;
+    }
+
+    // Matches in id order, or by distance with id as tiebreaker
+    private Stream<Restaurant> sortedMatches(RestaurantSearchCriteria criteria) {
+        Stream<Restaurant> matches = find(matching(criteria));
+
+        if (criteria.isSortByDistance() && criteria.hasLocation()) {
+            matches = matches
+                    .filter(restaurant -> restaurant.getGeoLocation() != null)
+                    .map(restaurant -> {
+                        restaurant.setDistanceKm(distanceKm(restaurant.getGeoLocation(), criteria));
+                        return restaurant;
+                    })
+                    .sorted(Comparator.comparing(Restaurant::getDistanceKm));
+        }
+
+        return matches;
+    }
+
+    private static List<Object> sortValues(Restaurant restaurant, boolean byDistance) {
+        return byDistance
+                ? List.of(restaurant.getDistanceKm(), restaurant.getId())
+                : List.of(restaurant.getId());
+    }
+
+    // Cursor values come back from JSON, so distances are compared as numbers and ids as strings
+    private static int compare(List<Object> left, List<Object> right) {
+        if (left.size() == 2) {
+            int byDistance = Double.compare(((Number) left.getFirst()).doubleValue(),
+                    ((Number) right.getFirst()).doubleValue());
+            if (byDistance != 0) {
+                return byDistance;
+            }
+        }
+        return left.getLast().toString().compareTo(right.getLast().toString());
+    }
+
+    @Override
+    protected String getId(Restaurant restaurant) {
+        return restaurant.getId();
+    }
+
+    @Override
+    protected void setId(Restaurant restaurant, String id) {
+        restaurant.setId(id);
+    }
+
+    @Override
+    protected SeqNoPrimaryTerm getSeqNoPrimaryTerm(Restaurant restaurant) {
+        return restaurant.getSeqNoPrimaryTerm();
+    }
+
+    @Override
+    protected void setSeqNoPrimaryTerm(Restaurant restaurant, SeqNoPrimaryTerm seqNoPrimaryTerm) {
+        restaurant.setSeqNoPrimaryTerm(seqNoPrimaryTerm);
+    }
+
+    @Override
+    protected Restaurant copy(Restaurant restaurant) {
+        return Restaurant.builder()
+                .id(restaurant.getId())
+                .name(restaurant.getName())
+                .cuisineType(restaurant.getCuisineType())
+                .suggest(restaurant.getSuggest())
+                .contactInformation(restaurant.getContactInformation())
+                .averageRating(restaurant.getAverageRating())
+                .totalReviews(restaurant.getTotalReviews())
+                .ratingSum(restaurant.getRatingSum())
+                .ratingCount(restaurant.getRatingCount())
+                .ratingHistogram(restaurant.getRatingHistogram() == null
+                        ? new HashMap<>() : new HashMap<>(restaurant.getRatingHistogram()))
+                .geoLocation(restaurant.getGeoLocation())
+                .address(restaurant.getAddress())
+                .operatingHours(restaurant.getOperatingHours())
+                .photos(restaurant.getPhotos() == null ? new ArrayList<>() : new ArrayList<>(restaurant.getPhotos()))
+                .reviews(restaurant.getReviews() == null ? new ArrayList<>() : new ArrayList<>(restaurant.getReviews()))
+                .writtenBy(restaurant.getWrittenBy())
+                .seqNoPrimaryTerm(restaurant.getSeqNoPrimaryTerm())
+                .build();
+    }
+
+    private Predicate<Restaurant> matching(RestaurantSearchCriteria criteria) {
+        Predicate<Restaurant> predicate = restaurant -> true;
+
+        if (criteria.hasQuery()) {
+            String query = criteria.getQuery().trim().toLowerCase(Locale.ROOT);
+            predicate = predicate.and(restaurant -> contains(restaurant.getName(), query)
+                    || contains(restaurant.getCuisineType(), query));
+        }
+        if (criteria.getMinRating() != null) {
+            predicate = predicate.and(restaurant -> restaurant.getAverageRating() != null
+                    && restaurant.getAverageRating() >= criteria.getMinRating());
+        }
+        if (criteria.hasGeoFilter()) {
+            predicate = predicate.and(restaurant -> restaurant.getGeoLocation() != null
+                    && distanceKm(restaurant.getGeoLocation(), criteria) <= criteria.getRadiusKm());
+        }
+        return predicate;
+    }
+
+    private RatingStats ratingStats(Restaurant restaurant) {
+        return new RatingStats(
+                restaurant.getRatingCount() == null ? 0 : restaurant.getRatingCount(),
+                restaurant.getRatingSum() == null ? 0 : restaurant.getRatingSum(),
+                restaurant.getRatingHistogram() == null ? new HashMap<>() : new HashMap<>(restaurant.getRatingHistogram()));
+    }
+
+    // Like the update scripts, this replaces the stored document with a new version
+    private Restaurant withRatingStats(Restaurant stored, RatingStats stats) {
+        Restaurant updated = copy(stored);
+        updated.setRatingCount(stats.getCount());
+        updated.setRatingSum(stats.getSum());
+        updated.setRatingHistogram(new HashMap<>(stats.getHistogram()));
+        updated.setTotalReviews((int) stats.getCount());
+        updated.setAverageRating(stats.average());
+        updated.setSeqNoPrimaryTerm(nextSeqNoPrimaryTerm());
+        return updated;
+    }
+
+    private static boolean contains(String value, String query) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(query);
+    }
+
+    private static double distanceKm(GeoPoint point, RestaurantSearchCriteria criteria) {
+        double lat1 = Math.toRadians(point.getLat());
+        double lat2 = Math.toRadians(criteria.getLatitude());
+        double deltaLat = lat2 - lat1;
+        double deltaLon = Math.toRadians(criteria.getLongitude() - point.getLon());
+        double a = Math.pow(Math.sin(deltaLat / 2), 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.pow(Math.sin(deltaLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
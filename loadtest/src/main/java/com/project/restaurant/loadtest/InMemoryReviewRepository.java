@@ -0,0 +1,208 @@
+package com.project.restaurant.loadtest;
+
+import com.project.restaurant.domain.CursorPage;
+import com.project.restaurant.domain.RatingStats;
+import com.project.restaurant.domain.entities.Review;
+import com.project.restaurant.exceptions.ReviewAlreadyExistsException;
+import com.project.restaurant.repositories.ReviewRepository;
+import com.project.restaurant.repositories.SearchAfterCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.query.SeqNoPrimaryTerm;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link ReviewRepository}. Reviews are indexed by restaurant, and sorting and
+ * search_after cursors use the same sort values Elasticsearch returns: epoch millis for dates,
+ * numbers for ratings and the id as tiebreaker.
+ */
+public class InMemoryReviewRepository extends InMemoryElasticsearchRepository<Review> implements ReviewRepository {
+
+    private final Map<String, Set<String>> reviewIdsByRestaurant = new ConcurrentHashMap<>();
+
+    @Override
+    public Page<Review> findByRestaurantId(String restaurantId, Pageable pageable) {
+        return page(sorted(restaurantReviews(restaurantId), pageable.getSort()).toList(), pageable);
+    }
+
+    @Override
+    public Page<Review> findByWrittenById(String userId, Pageable pageable) {
+        Stream<Review> reviews = find(review -> review.getWrittenBy() != null
+                && userId.equals(review.getWrittenBy().getId()));
+        return page(sorted(reviews, pageable.getSort()).toList(), pageable);
+    }
+
+    @Override
+    public void deleteByRestaurantId(String restaurantId) {
+        deleteAllById(List.copyOf(reviewIdsByRestaurant.getOrDefault(restaurantId, Set.of())));
+    }
+
+    @Override
+    public Review create(Review review) {
+        if (!insertIfAbsent(review)) {
+            throw new ReviewAlreadyExistsException("Review already exists: " + review.getId());
+        }
+        return review;
+    }
+
+    @Override
+    public void createAll(List<Review> reviews) {
+        reviews.forEach(this::insertIfAbsent);
+    }
+
+    @Override
+    public Map<String, RatingStats> ratingStatsByRestaurant() {
+        Map<String, RatingStats> ratingStats = new HashMap<>();
+        reviewIdsByRestaurant.keySet().forEach(restaurantId -> {
+            List<Review> reviews = storedReviews(restaurantId).toList();
+            if (!reviews.isEmpty()) {
+                ratingStats.put(restaurantId, RatingStats.of(reviews));
+            }
+        });
+        return ratingStats;
+    }
+
+    @Override
+    public RatingStats ratingStatsForRestaurant(String restaurantId) {
+        return RatingStats.of(storedReviews(restaurantId).toList());
+    }
+
+    @Override
+    public CursorPage<Review> scrollByRestaurantId(String restaurantId, Sort sort, int size, String cursor) {
+        List<Object> searchAfter = SearchAfterCursor.decode(cursor);
+
+        List<Review> reviews = sorted(restaurantReviews(restaurantId), sort)
+                .filter(review -> searchAfter == null || compare(sortValues(review, sort), searchAfter, sort) > 0)
+                .limit(size)
+                .toList();
+
+        String nextCursor = reviews.size() < size
+                ? null
+                : SearchAfterCursor.encode(sortValues(reviews.getLast(), sort));
+
+        return new CursorPage<>(reviews, nextCursor);
+    }
+
+    @Override
+    protected void onSave(Review review) {
+        reviewIdsByRestaurant
+                .computeIfAbsent(review.getRestaurantId(), restaurantId -> ConcurrentHashMap.newKeySet())
+                .add(review.getId());
+    }
+
+    @Override
+    protected void onRemove(Review review) {
+        Set<String> reviewIds = reviewIdsByRestaurant.get(review.getRestaurantId());
+        if (reviewIds != null) {
+            reviewIds.remove(review.getId());
+        }
+    }
+
+    @Override
+    protected String getId(Review review) {
+        return review.getId();
+    }
+
+    @Override
+    protected void setId(Review review, String id) {
+        review.setId(id);
+    }
+
+    @Override
+    protected SeqNoPrimaryTerm getSeqNoPrimaryTerm(Review review) {
+        return review.getSeqNoPrimaryTerm();
+    }
+
+    @Override
+    protected void setSeqNoPrimaryTerm(Review review, SeqNoPrimaryTerm seqNoPrimaryTerm) {
+        review.setSeqNoPrimaryTerm(seqNoPrimaryTerm);
+    }
+
+    @Override
+    protected Review copy(Review review) {
+        return Review.builder()
+                .id(review.getId())
+                .restaurantId(review.getRestaurantId())
+                .content(review.getContent())
+                .rating(review.getRating())
+                .datePosted(review.getDatePosted())
+                .lastEdited(review.getLastEdited())
+                .photos(review.getPhotos() == null ? new ArrayList<>() : new ArrayList<>(review.getPhotos()))
+                .writtenBy(review.getWrittenBy())
+                .seqNoPrimaryTerm(review.getSeqNoPrimaryTerm())
+                .build();
+    }
+
+    private Stream<Review> storedReviews(String restaurantId) {
+        return reviewIdsByRestaurant.getOrDefault(restaurantId, Set.of()).stream()
+                .map(documents::get)
+                .filter(Objects::nonNull);
+    }
+
+    private Stream<Review> restaurantReviews(String restaurantId) {
+        return storedReviews(restaurantId).map(this::copy);
+    }
+
+    private static Stream<Review> sorted(Stream<Review> reviews, Sort sort) {
+        if (sort.isUnsorted()) {
+            return reviews;
+        }
+        Comparator<Review> comparator = (left, right) -> compare(sortValues(left, sort), sortValues(right, sort), sort);
+        return reviews.sorted(comparator);
+    }
+
+    private static List<Object> sortValues(Review review, Sort sort) {
+        return sort.stream()
+                .map(order -> sortValue(review, order.getProperty()))
+                .toList();
+    }
+
+    private static Object sortValue(Review review, String property) {
+        return switch (property) {
+            case "datePosted" -> epochMillis(review.getDatePosted());
+            case "lastEdited" -> epochMillis(review.getLastEdited());
+            case "rating" -> review.getRating() == null ? null : review.getRating().longValue();
+            case "id" -> review.getId();
+            default -> throw new IllegalArgumentException("Unsupported review sort property: " + property);
+        };
+    }
+
+    private static Long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static int compare(List<Object> left, List<Object> right, Sort sort) {
+        int index = 0;
+        for (Sort.Order order : sort) {
+            int result = compareValues(left.get(index), right.get(index));
+            if (result != 0) {
+                return order.isAscending() ? result : -result;
+            }
+            index++;
+        }
+        return 0;
+    }
+
+    // Cursor values come back from JSON as Integer or Long, so numbers are compared by value
+    private static int compareValues(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right ? 0 : left == null ? 1 : -1;
+        }
+        if (left instanceof Number leftNumber && right instanceof Number rightNumber) {
+            return Long.compare(leftNumber.longValue(), rightNumber.longValue());
+        }
+        return left.toString().compareTo(right.toString());
+    }
+}
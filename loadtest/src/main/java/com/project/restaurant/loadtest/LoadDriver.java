@@ -0,0 +1,165 @@
+package com.project.restaurant.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP driver: each client thread sends one request at a time, picking the
+ * scenario by weight, and records its latency until the run duration has elapsed.
+ */
+@Slf4j
+public class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final double LONDON_LATITUDE = 51.5074;
+    private static final double LONDON_LONGITUDE = -0.1278;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicLong reviewers = new AtomicLong();
+
+    private final URI baseUri;
+    private final int clients;
+    private final Map<Scenario, Integer> mix;
+    private final DataSeeder.SeededData data;
+    private final int totalWeight;
+
+    public LoadDriver(URI baseUri, int clients, Map<Scenario, Integer> mix, DataSeeder.SeededData data) {
+        this.baseUri = baseUri;
+        this.clients = clients;
+        this.mix = mix;
+        this.data = data;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("At least one scenario needs a positive weight");
+        }
+    }
+
+    public Map<Scenario, ScenarioResult> run(Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Map<Scenario, ScenarioResult>> clientResults = new ArrayList<>(clients);
+        List<Thread> threads = new ArrayList<>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            Map<Scenario, ScenarioResult> results = emptyResults();
+            clientResults.add(results);
+            threads.add(Thread.ofPlatform()
+                    .name("loadtest-client-" + i)
+                    .start(() -> runClient(deadline, results)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Scenario, ScenarioResult> merged = emptyResults();
+        clientResults.forEach(results -> results.forEach((scenario, result) -> merged.get(scenario).add(result)));
+        return merged;
+    }
+
+    private void runClient(long deadline, Map<Scenario, ScenarioResult> results) {
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            Scenario scenario = nextScenario();
+            HttpRequest request = requestFor(scenario);
+
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                success = status < 400;
+            } catch (IOException e) {
+                log.debug("{} request failed", scenario, e);
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            results.get(scenario).record(System.nanoTime() - start, success);
+        }
+    }
+
+    private Scenario nextScenario() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Scenario weights changed during the run");
+    }
+
+    private HttpRequest requestFor(Scenario scenario) {
+        return switch (scenario) {
+            case SEARCH -> get("/api/restaurants" + searchQuery());
+            case DETAIL -> get("/api/restaurants/" + randomRestaurant());
+            case REVIEW_POST -> postReview();
+            case PHOTO_GET -> get("/api/photos/" + random(data.photoIds())
+                    + (ThreadLocalRandom.current().nextBoolean() ? "?size=thumb" : ""));
+        };
+    }
+
+    private String searchQuery() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (random.nextInt(4)) {
+            case 0 -> "?q=" + URLEncoder.encode(random(DataSeeder.CUISINES), StandardCharsets.UTF_8);
+            case 1 -> "?latitude=" + LONDON_LATITUDE + "&longitude=" + LONDON_LONGITUDE
+                    + "&radius=" + (1 + random.nextInt(10)) + "&sort=distance";
+            case 2 -> "?minRating=" + (1 + random.nextInt(4));
+            default -> "?page=" + (1 + random.nextInt(10));
+        };
+    }
+
+    // Every post comes from a new reviewer, so the one-review-per-user rule never rejects it
+    private HttpRequest postReview() {
+        String reviewer = "loadtest-user-" + reviewers.incrementAndGet();
+        String body = """
+                {"content":"Load test review by %s","rating":%d,"photoIds":[]}"""
+                .formatted(reviewer, 1 + ThreadLocalRandom.current().nextInt(5));
+
+        return HttpRequest.newBuilder(baseUri.resolve("/api/restaurants/" + randomRestaurant() + "/reviews"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + reviewer)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private String randomRestaurant() {
+        return random(data.restaurantIds());
+    }
+
+    private static String random(List<String> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static Map<Scenario, ScenarioResult> emptyResults() {
+        Map<Scenario, ScenarioResult> results = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            results.put(scenario, new ScenarioResult());
+        }
+        return results;
+    }
+}
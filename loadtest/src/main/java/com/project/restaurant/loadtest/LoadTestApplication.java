@@ -0,0 +1,18 @@
+package com.project.restaurant.loadtest;
+
+import com.project.restaurant.RestaurantApplication;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * Starts the restaurant application on a random port with the {@code loadtest} profile, runs
+ * {@link LoadTestRunner} against it and exits. Any {@code loadtest.*} property can be overridden
+ * on the command line, e.g. {@code --loadtest.clients=256 --loadtest.duration=5m}.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(RestaurantApplication.class, LoadTestConfig.class);
+        application.setAdditionalProfiles("loadtest");
+        System.exit(SpringApplication.exit(application.run(args)));
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.restaurant.loadtest;
+
+import com.project.restaurant.repositories.RestaurantRepository;
+import com.project.restaurant.repositories.ReviewRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Replaces the application's external dependencies with local stand-ins. The Elasticsearch
+ * client and repository auto-configuration is excluded in {@code application-loadtest.properties}.
+ */
+@Configuration
+public class LoadTestConfig {
+
+    @Bean
+    public RestaurantRepository restaurantRepository() {
+        return new InMemoryRestaurantRepository();
+    }
+
+    @Bean
+    public ReviewRepository reviewRepository() {
+        return new InMemoryReviewRepository();
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder() {
+        return new StubJwtDecoder();
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.restaurant.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prints throughput and latency percentiles per scenario, and writes the same summary plus one
+ * HdrHistogram percentile distribution ({@code .hgrm}, in milliseconds) per scenario to the
+ * results directory for plotting or comparing runs.
+ */
+public final class LoadTestReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String HEADER_FORMAT = "%-12s %10s %8s %10s %9s %9s %9s %9s %9s%n";
+    private static final String ROW_FORMAT = "%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n";
+
+    private LoadTestReport() {
+    }
+
+    public static void write(Map<Scenario, ScenarioResult> results, Duration duration, Path resultsDir)
+            throws IOException {
+        print(results, duration, System.out);
+
+        Files.createDirectories(resultsDir);
+        try (PrintStream summary = new PrintStream(
+                Files.newOutputStream(resultsDir.resolve("summary.txt")), true, StandardCharsets.UTF_8)) {
+            print(results, duration, summary);
+        }
+        for (Map.Entry<Scenario, ScenarioResult> entry : results.entrySet()) {
+            Path file = resultsDir.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+                entry.getValue().getLatencies().outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    private static void print(Map<Scenario, ScenarioResult> results, Duration duration, PrintStream out) {
+        double seconds = duration.toMillis() / 1000.0;
+        ScenarioResult total = new ScenarioResult();
+
+        out.printf(Locale.ROOT, HEADER_FORMAT,
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((scenario, result) -> {
+            row(scenario.name(), result, seconds, out);
+            total.add(result);
+        });
+        row("TOTAL", total, seconds, out);
+    }
+
+    private static void row(String name, ScenarioResult result, double seconds, PrintStream out) {
+        Histogram latencies = result.getLatencies();
+        out.printf(Locale.ROOT, ROW_FORMAT,
+                name,
+                result.getRequests(),
+                result.getErrors(),
+                result.getRequests() / seconds,
+                latencies.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                latencies.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                latencies.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                latencies.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                latencies.getMaxValue() / NANOS_PER_MILLI);
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.restaurant.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Seeds the in-memory store, warms the application up, then drives the measured run against
+ * the embedded server and reports the results.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestRunner implements ApplicationRunner {
+
+    private final DataSeeder dataSeeder;
+    private final Environment environment;
+
+    @Value("${loadtest.clients:64}")
+    private int clients;
+
+    @Value("${loadtest.warmup:30s}")
+    private Duration warmup;
+
+    @Value("${loadtest.duration:2m}")
+    private Duration duration;
+
+    @Value("${loadtest.results-dir:target/loadtest}")
+    private Path resultsDir;
+
+    @Value("${loadtest.mix.search:50}")
+    private int searchWeight;
+
+    @Value("${loadtest.mix.detail:30}")
+    private int detailWeight;
+
+    @Value("${loadtest.mix.review-post:10}")
+    private int reviewPostWeight;
+
+    @Value("${loadtest.mix.photo-get:10}")
+    private int photoGetWeight;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        DataSeeder.SeededData data = dataSeeder.seed();
+
+        // The port is only known once the embedded server has started
+        URI baseUri = URI.create("http://localhost:" + environment.getRequiredProperty("local.server.port"));
+        LoadDriver driver = new LoadDriver(baseUri, clients, mix(data), data);
+
+        log.info("Warming up for {} with {} clients", warmup, clients);
+        driver.run(warmup);
+
+        log.info("Measuring for {} with {} clients", duration, clients);
+        LoadTestReport.write(driver.run(duration), duration, resultsDir);
+        log.info("Results written to {}", resultsDir.toAbsolutePath());
+    }
+
+    private Map<Scenario, Integer> mix(DataSeeder.SeededData data) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        mix.put(Scenario.SEARCH, searchWeight);
+        mix.put(Scenario.DETAIL, detailWeight);
+        mix.put(Scenario.REVIEW_POST, reviewPostWeight);
+        mix.put(Scenario.PHOTO_GET, data.photoIds().isEmpty() ? 0 : photoGetWeight);
+        return mix;
+    }
+}
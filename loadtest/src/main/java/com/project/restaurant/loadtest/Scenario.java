@@ -0,0 +1,11 @@
+package com.project.restaurant.loadtest;
+
+/**
+ * The request types the driver mixes, each weighted by {@code loadtest.mix.*}.
+ */
+public enum Scenario {
+    SEARCH,
+    DETAIL,
+    REVIEW_POST,
+    PHOTO_GET
+}
@@ -0,0 +1,36 @@
+package com.project.restaurant.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histogram (in nanoseconds) and error count of one scenario. Each client thread keeps
+ * its own instances, which are merged once the run is over.
+ */
+@Getter
+public class ScenarioResult {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram latencies = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    private long errors;
+
+    public void record(long latencyNanos, boolean success) {
+        latencies.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public void add(ScenarioResult other) {
+        latencies.add(other.latencies);
+        errors += other.errors;
+    }
+
+    public long getRequests() {
+        return latencies.getTotalCount();
+    }
+}
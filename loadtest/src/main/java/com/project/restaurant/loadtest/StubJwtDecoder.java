@@ -0,0 +1,29 @@
+package com.project.restaurant.loadtest;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Accepts any bearer token and treats it as the user id, so the driver can act as any number of
+ * distinct reviewers without an identity provider. Never wire this into the real application.
+ */
+public class StubJwtDecoder implements JwtDecoder {
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Instant issuedAt = Instant.now();
+        return Jwt.withTokenValue(token)
+                .header("alg", "none")
+                .subject(token)
+                .claim("preferred_username", token)
+                .claim("first_name", "Load")
+                .claim("last_name", "Test")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plus(1, ChronoUnit.HOURS))
+                .build();
+    }
+}